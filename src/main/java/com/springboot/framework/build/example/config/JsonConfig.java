@@ -12,11 +12,16 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.springboot.framework.build.example.utils.component.JavaTimeSerializers;
+import com.springboot.framework.build.example.utils.component.ReturnJsonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,10 +37,23 @@ import java.util.Date;
 @Configuration
 public class JsonConfig {
 
-    @Bean
-    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(){
+    /** 性能模式：字节码生成的属性访问器，时间类型不经过格式化器直接输出，输出内容不变 */
+    @Value("${json.performance:false}")
+    private boolean performance;
+    /** data为集合且元素数达到该值时，逐个元素写入响应流 */
+    @Value("${json.stream.threshold:1000}")
+    private int streamThreshold;
+    /** 逐个元素写入时，每写入多少个元素刷新一次 */
+    @Value("${json.stream.flush-size:500}")
+    private int streamFlushSize;
 
-        MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
+    /**
+     * 接口使用的ObjectMapper，其他需要与接口一致的序列化处也可注入
+     *
+     * @return
+     */
+    @Bean
+    ObjectMapper objectMapper(){
 
         // 序列化设置
         ObjectMapper objectMapper = new ObjectMapper();
@@ -53,12 +71,41 @@ public class JsonConfig {
                 .addDeserializer(LocalDate.class,new LocalDateDeserializer(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
                 .addDeserializer(LocalTime.class,new LocalTimeDeserializer(DateTimeFormatter.ofPattern("HH:mm:ss")));
 
+        // 性能模式
+        if (performance) {
+            javaTimeModule.addSerializer(Date.class, new JavaTimeSerializers.DateSerializer())
+                    .addSerializer(LocalDateTime.class, new JavaTimeSerializers.LocalDateTimeSerializer())
+                    .addSerializer(LocalDate.class, new JavaTimeSerializers.LocalDateSerializer())
+                    .addSerializer(LocalTime.class, new JavaTimeSerializers.LocalTimeSerializer());
+            objectMapper.registerModule(new AfterburnerModule());
+        }
+
         // 注册模块
         objectMapper.registerModule(javaTimeModule).registerModule(new ParameterNamesModule());
 
+        return objectMapper;
+    }
+
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper){
+
+        MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
         messageConverter.setObjectMapper(objectMapper);
 
         return messageConverter;
     }
 
+    /**
+     * ReturnJson输出，排在MappingJackson2HttpMessageConverter之前
+     * 不带数据的响应直接写出预先序列化的字节，带数据时只序列化data，大集合逐个元素写入响应流
+     *
+     * @param objectMapper
+     * @return
+     * @throws IOException
+     */
+    @Bean
+    ReturnJsonHttpMessageConverter returnJsonHttpMessageConverter(ObjectMapper objectMapper) throws IOException {
+        return new ReturnJsonHttpMessageConverter(objectMapper, streamThreshold, streamFlushSize);
+    }
+
 }
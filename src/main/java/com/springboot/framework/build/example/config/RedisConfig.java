@@ -2,14 +2,40 @@ package com.springboot.framework.build.example.config;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.springboot.framework.build.example.utils.RedisLockUtils;
+import com.springboot.framework.build.example.utils.redis.JacksonRedisSerializer;
+import com.springboot.framework.build.example.utils.redis.RedisMetricsPostProcessor;
+import com.springboot.framework.build.example.utils.redis.RedisPoolMetrics;
+import com.springboot.framework.build.example.utils.redis.StampedeProtectedCache;
+import com.springboot.framework.build.example.utils.redis.StampedeProtectedCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.*;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**************************************************************
  * 创建日期：2020/1/19 12:15
@@ -20,6 +46,88 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableCaching //开启缓存
 public class RedisConfig {
 
+    /** value序列化格式：json、smile */
+    @Value("${redis.serializer:json}")
+    private String serializer;
+    /** value压缩阈值(字节)，小于等于0时不压缩 */
+    @Value("${redis.compress-threshold:0}")
+    private int compressThreshold;
+
+    /** 缓存默认过期时间(秒) */
+    @Value("${cache.default-ttl-seconds:600}")
+    private long cacheDefaultTtl;
+    /** 每个缓存的过期时间(秒)，例如 user=300,dict=3600 */
+    @Value("${cache.ttls:}")
+    private String cacheTtls;
+    /** 每个缓存的值类型，例如 user=com.example.UserDTO；配置了类型的缓存不在值中写入类名 */
+    @Value("${cache.types:}")
+    private String cacheTypes;
+    /** XFetch提前刷新系数，0表示不提前刷新 */
+    @Value("${cache.xfetch-beta:1.0}")
+    private double cacheXfetchBeta;
+    /** 缓存重建是否使用分布式锁 */
+    @Value("${cache.lock.enabled:false}")
+    private boolean cacheLockEnabled;
+    /** 等待分布式锁的最长时间(毫秒) */
+    @Value("${cache.lock.wait-millis:3000}")
+    private long cacheLockWait;
+
+    /**
+     * lettuce连接池
+     * 连接工厂仍由spring boot自动配置（spring.redis.url、ssl、sentinel、cluster、timeout等配置照常生效），
+     * 配置了spring.redis.lettuce.pool时使用连接池，这里按同样的配置重建池参数，并开启JMX，供RedisPoolMetrics统计；
+     * lettuce的连接本身是线程安全的，普通命令共享一个连接，不经过连接池；
+     * 连接池只用于事务、阻塞命令（BLPOP等）和管道，这些操作需要独占连接，
+     * redis.pool.waiters、redis.pool.borrow.wait偏高时调大spring.redis.lettuce.pool.max-active
+     *
+     * @param properties
+     * @return
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer lettucePoolCustomizer(RedisProperties properties) {
+        return builder -> {
+            RedisProperties.Pool pool = properties.getLettuce().getPool();
+            if (pool == null || !(builder instanceof LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder)) {
+                return;
+            }
+            GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+            poolConfig.setMaxTotal(pool.getMaxActive());
+            poolConfig.setMaxIdle(pool.getMaxIdle());
+            poolConfig.setMinIdle(pool.getMinIdle());
+            if (pool.getMaxWait() != null) {
+                poolConfig.setMaxWaitMillis(pool.getMaxWait().toMillis());
+            }
+            if (pool.getTimeBetweenEvictionRuns() != null) {
+                poolConfig.setTimeBetweenEvictionRunsMillis(pool.getTimeBetweenEvictionRuns().toMillis());
+            }
+            poolConfig.setJmxEnabled(true);
+            poolConfig.setJmxNamePrefix(RedisPoolMetrics.JMX_NAME_PREFIX);
+            ((LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder) builder).poolConfig(poolConfig);
+        };
+    }
+
+    /**
+     * 连接池指标：活跃、空闲、等待数，借出连接的等待时间
+     *
+     * @return
+     */
+    @Bean
+    public RedisPoolMetrics redisPoolMetrics() {
+        return new RedisPoolMetrics();
+    }
+
+    /**
+     * redis监控指标，统计命令耗时、获取连接耗时、字节数、错误数
+     * 静态方法，保证在连接工厂创建之前注册
+     *
+     * @param registryProvider
+     * @return
+     */
+    @Bean
+    public static RedisMetricsPostProcessor redisMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new RedisMetricsPostProcessor(registryProvider);
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
 
@@ -28,29 +136,153 @@ public class RedisConfig {
         // 配置连接工厂
         redisTemplate.setConnectionFactory(connectionFactory);
 
-        // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值（默认使用JDK的序列化方式）
-        Jackson2JsonRedisSerializer jsonRedisSerializer = new Jackson2JsonRedisSerializer(Object.class);
+        // 值的序列化方式由redis.serializer决定（RedisTemplate默认使用JDK的序列化方式）
+        RedisSerializer<Object> valueSerializer = redisValueSerializer();
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        //  指定要序列化的域，field,get和set,以及修饰符范围，ANY是都有包括private和public
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        // 指定序列化输入的类型，类必须是非final修饰的，final修饰的类，比如String,Integer等会跑出异常
-        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL);
-        jsonRedisSerializer.setObjectMapper(objectMapper);
-
-        // 值采用json序列化
-        redisTemplate.setValueSerializer(jsonRedisSerializer);
+        // 值采用json或smile序列化
+        redisTemplate.setValueSerializer(valueSerializer);
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         redisTemplate.setKeySerializer(new StringRedisSerializer());
 
         // 设置hash key 和value序列化模式
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(jsonRedisSerializer);
+        redisTemplate.setHashValueSerializer(valueSerializer);
         redisTemplate.afterPropertiesSet();
 
         return redisTemplate;
     }
 
+    /**
+     * 响应式模板，序列化方式与redisTemplate一致
+     *
+     * @param connectionFactory
+     * @return
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+
+        RedisSerializer<Object> valueSerializer = redisValueSerializer();
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(valueSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(valueSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    /**
+     * value的序列化
+     * redis.serializer=json 写入json（默认）；redis.serializer=smile 写入smile二进制，体积更小、解析更快
+     * redis.compress-threshold 大于0时，超过该字节数的值再做gzip压缩
+     * 读取时自动识别格式，切换配置不影响已有的key
+     * 值的类型不固定，每个值中写入类名（default typing）；类型固定时用typedValueSerializer
+     *
+     * @return
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer() {
+        return new JacksonRedisSerializer<>(valueObjectMapper(new ObjectMapper()),
+                valueObjectMapper(new ObjectMapper(new SmileFactory())),
+                Object.class, "smile".equalsIgnoreCase(serializer), compressThreshold);
+    }
+
+    /**
+     * 固定类型的value序列化，格式、压缩与redisValueSerializer相同，值中不写入类名
+     * 用于只存放一种类型的模板，例如 new RedisTemplate<String, UserDTO>() 设置 setValueSerializer(redisConfig.typedValueSerializer(UserDTO.class))
+     *
+     * @param type 值的类型
+     * @param <T>
+     * @return
+     */
+    public <T> RedisSerializer<T> typedValueSerializer(Class<T> type) {
+        return new JacksonRedisSerializer<>(typedObjectMapper(new ObjectMapper()),
+                typedObjectMapper(new ObjectMapper(new SmileFactory())),
+                type, "smile".equalsIgnoreCase(serializer), compressThreshold);
+    }
+
+    /**
+     * 固定类型的缓存的value序列化，缓存中存放的是CacheEntry<type>
+     *
+     * @param type 缓存值的类型
+     * @return
+     */
+    private RedisSerializer<Object> typedCacheSerializer(Class<?> type) {
+        ObjectMapper jsonMapper = typedObjectMapper(new ObjectMapper());
+        JavaType entryType = jsonMapper.getTypeFactory().constructParametricType(StampedeProtectedCache.CacheEntry.class, type);
+        return new JacksonRedisSerializer<>(jsonMapper, typedObjectMapper(new ObjectMapper(new SmileFactory())),
+                entryType, "smile".equalsIgnoreCase(serializer), compressThreshold);
+    }
+
+    /**
+     * 配置value的ObjectMapper，值的类型不固定，写入类名
+     *
+     * @param objectMapper
+     * @return
+     */
+    private static ObjectMapper valueObjectMapper(ObjectMapper objectMapper) {
+
+        typedObjectMapper(objectMapper);
+        // 指定序列化输入的类型，类必须是非final修饰的，final修饰的类，比如String,Integer等会跑出异常
+        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL);
+
+        return objectMapper;
+    }
+
+    /**
+     * 配置固定类型value的ObjectMapper，不写入类名
+     *
+     * @param objectMapper
+     * @return
+     */
+    private static ObjectMapper typedObjectMapper(ObjectMapper objectMapper) {
+
+        //  指定要序列化的域，field,get和set,以及修饰符范围，ANY是都有包括private和public
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+
+        return objectMapper;
+    }
+
+    /**
+     * 缓存管理器
+     * 值的序列化与redisTemplate一致，支持每个缓存单独的过期时间；
+     * cache.types配置了值类型的缓存按类型序列化，不写入类名（切换前写入的旧值无法读取，需清空该缓存）；
+     * 每个缓存包装为StampedeProtectedCache，配合@Cacheable(sync = true)防止缓存击穿
+     *
+     * @param connectionFactory
+     * @param redisLockUtils
+     * @return
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, RedisLockUtils redisLockUtils) {
+
+        RedisCacheConfiguration defaultConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(cacheDefaultTtl))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisValueSerializer()));
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        for (String item : cacheTtls.split(",")) {
+            String[] nameAndTtl = item.split("=");
+            if (nameAndTtl.length == 2) {
+                configurations.put(nameAndTtl[0].trim(), defaultConfiguration.entryTtl(Duration.ofSeconds(Long.parseLong(nameAndTtl[1].trim()))));
+            }
+        }
+        for (String item : cacheTypes.split(",")) {
+            String[] nameAndType = item.split("=");
+            if (nameAndType.length == 2) {
+                String name = nameAndType[0].trim();
+                Class<?> type = ClassUtils.resolveClassName(nameAndType[1].trim(), getClass().getClassLoader());
+                configurations.put(name, configurations.getOrDefault(name, defaultConfiguration)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(typedCacheSerializer(type))));
+            }
+        }
+
+        return new StampedeProtectedCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                defaultConfiguration, configurations, cacheXfetchBeta, cacheLockEnabled ? redisLockUtils : null, cacheLockWait);
+    }
+
     /**
      * 对hash类型的数据操作
      *
@@ -105,4 +337,17 @@ public class RedisConfig {
     public ZSetOperations<String, Object> zSetOperations(RedisTemplate<String, Object> redisTemplate) {
         return redisTemplate.opsForZSet();
     }
+
+    /**
+     * redis消息监听容器，用于订阅pub/sub频道
+     *
+     * @param connectionFactory
+     * @return
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
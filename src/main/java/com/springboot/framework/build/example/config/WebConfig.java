@@ -1,6 +1,7 @@
 package com.springboot.framework.build.example.config;
 
 import com.springboot.framework.build.example.handler.InterceptorHandler;
+import com.springboot.framework.build.example.handler.RateLimitHandler;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,10 +22,18 @@ public class WebConfig implements WebMvcConfigurer {
     // 拦截器
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // 限流在登录验证之前，被限流的请求不再做其他处理
+        registry.addInterceptor(rateLimitHandler())
+        .addPathPatterns("/**");
         registry.addInterceptor(interceptorHandler())
         .addPathPatterns("/**");
     }
 
+    @Bean
+    RateLimitHandler rateLimitHandler(){
+        return new RateLimitHandler();
+    }
+
     @Bean
     InterceptorHandler interceptorHandler(){
         return new InterceptorHandler();
@@ -8,9 +8,14 @@ public enum ReturnCode {
     PARAM_ERROR(100, "参数错误"),
     SUCCESS(200, "执行成功"),
     NOT_LOGIN(300, "未登录"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后再试"),
 
     EXCEL_ERROR(1050, "Excel错误"),
     EXCEL_HEAD_ERROR(1051, "Excel表头错误"),
+    EXPORT_BUSY(1052, "导出任务繁忙，请稍后再试"),
+    EXPORT_NOT_FOUND(1053, "导出任务不存在"),
+    EXPORT_NOT_READY(1054, "导出文件未生成"),
+    EXPORT_FAILED(1055, "导出失败"),
 
     UNKNOWN_ERROR(6000, "未知错误");
 
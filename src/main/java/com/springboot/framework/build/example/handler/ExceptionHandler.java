@@ -2,7 +2,14 @@ package com.springboot.framework.build.example.handler;
 
 import com.springboot.framework.build.example.enums.ReturnCode;
 import com.springboot.framework.build.example.utils.component.GlobalException;
+import com.springboot.framework.build.example.utils.component.LogRateLimiter;
 import com.springboot.framework.build.example.utils.component.ReturnJson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,16 +17,40 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**************************************************************
  * 创建日期：2020/1/19 9:50
  * 作    者：lixuhong
  * 功能描述：异常处理
+ * 每个返回码计数(http.server.errors，标签code)；
+ * GlobalException是预期内的业务错误，只计数，按exception.log.business-sample-rate抽样记录DEBUG日志，不输出堆栈；
+ * 其他异常输出带堆栈的ERROR日志，每秒最多exception.log.max-per-second条，超出的只计数，在下一条日志中报告（见LogRateLimiter）；
+ * 日志经logback.xml中的AsyncAppender异步写出，不阻塞请求线程
  **************************************************************/
 @ResponseBody
 @ControllerAdvice
 public class ExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExceptionHandler.class);
+
+    /** 每秒最多输出的异常日志数 */
+    @Value("${exception.log.max-per-second:10}")
+    private int maxLogsPerSecond;
+    /** 业务错误日志抽样比例，0-1，0表示不记录 */
+    @Value("${exception.log.business-sample-rate:0}")
+    private double businessSampleRate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 每个返回码的计数器 */
+    private final ConcurrentMap<Integer, Counter> counters = new ConcurrentHashMap<>();
+    /** 日志限流 */
+    private final LogRateLimiter logLimiter = new LogRateLimiter();
+
     @org.springframework.web.bind.annotation.ExceptionHandler(value = Exception.class)
     public Object handleException(HttpServletRequest request, Exception e){
 
@@ -29,8 +60,19 @@ public class ExceptionHandler {
         // 全局异常处理 运行时异常
         if(e instanceof GlobalException){
             GlobalException globalException = (GlobalException) e;
-            returnJson = (ReturnJson) globalException.getObject();
+            // 共享的无堆栈异常只带返回码，每次新建响应体，输出时由ReturnJsonHttpMessageConverter直接写出预先序列化的字节
+            returnJson = globalException.getReturnCode() != null
+                    ? (ReturnJson) ReturnJson.err(globalException.getReturnCode())
+                    : (ReturnJson) globalException.getObject();
             object = returnJson;
+
+            count(returnJson.getCode());
+            // 业务错误，抽样记录，不输出堆栈
+            if (businessSampleRate > 0 && logger.isDebugEnabled()
+                    && ThreadLocalRandom.current().nextDouble() < businessSampleRate) {
+                logger.debug("{} {} -> {} {}", request.getMethod(), request.getRequestURI(), returnJson.getCode(), returnJson.getMsg());
+            }
+            return object;
         }
         // @valid 方法参数异常;JSON方式：校验失败
         else if(e instanceof MethodArgumentNotValidException){
@@ -41,14 +83,34 @@ public class ExceptionHandler {
             String message = errors.get(0).getDefaultMessage();
 
             object = ReturnJson.err(ReturnCode.PARAM_ERROR.getCode(), message);
+            count(ReturnCode.PARAM_ERROR.getCode());
+            return object;
         }
         else{
             object = ReturnJson.err(ReturnCode.UNKNOWN_ERROR);
+            count(ReturnCode.UNKNOWN_ERROR.getCode());
         }
 
-        // 异常输出
-        e.printStackTrace();
+        // 异常输出，限流
+        long dropped = logLimiter.acquire(maxLogsPerSecond);
+        if (dropped > 0) {
+            logger.error("{} {} 处理失败（此前{}条异常日志因限流未输出）", request.getMethod(), request.getRequestURI(), dropped, e);
+        } else if (dropped == 0) {
+            logger.error("{} {} 处理失败", request.getMethod(), request.getRequestURI(), e);
+        }
 
         return object;
     }
+
+    /**
+     * 返回码计数
+     * @param code 返回码
+     */
+    private void count(int code) {
+        counters.computeIfAbsent(code, key -> Counter.builder("http.server.errors")
+                .description("按返回码统计的错误响应数")
+                .tag("code", String.valueOf(key))
+                .register(meterRegistry))
+                .increment();
+    }
 }
@@ -0,0 +1,126 @@
+package com.springboot.framework.build.example.handler;
+
+import com.springboot.framework.build.example.utils.annotation.LoginValid;
+import com.springboot.framework.build.example.utils.annotation.RateLimit;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**************************************************************
+ * 创建日期：2026/10/18 20:50
+ * 作    者：agent
+ * 功能描述：接口元数据
+ * 启动时遍历所有接口方法，解析@LoginValid、@RateLimit，按Method对象的引用保存；
+ * 请求时拦截器只做一次IdentityHashMap查找，不再逐次解析注解；
+ * 不需要任何拦截的接口返回同一个NONE，拦截器直接放行
+ **************************************************************/
+@Component
+public class HandlerMetadataRegistry implements ApplicationListener<ContextRefreshedEvent> {
+
+    /** 启动时解析的接口，只读 */
+    private volatile Map<Method, HandlerMetadata> metadata = new IdentityHashMap<>();
+    /** 启动后才注册的接口 */
+    private final Map<Method, HandlerMetadata> lateMetadata = new ConcurrentHashMap<>();
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        Map<Method, HandlerMetadata> resolved = new IdentityHashMap<>();
+        for (RequestMappingInfoHandlerMapping mapping : event.getApplicationContext()
+                .getBeansOfType(RequestMappingInfoHandlerMapping.class).values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                resolved.put(handlerMethod.getMethod(), resolve(handlerMethod));
+            }
+        }
+        metadata = resolved;
+        lateMetadata.clear();
+    }
+
+    /**
+     * 获取接口元数据
+     * @param handler 处理器，静态资源等非HandlerMethod返回NONE
+     * @return
+     */
+    public HandlerMetadata get(Object handler) {
+
+        if (!(handler instanceof HandlerMethod)) {
+            return HandlerMetadata.NONE;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        HandlerMetadata result = metadata.get(handlerMethod.getMethod());
+        if (result != null) {
+            return result;
+        }
+        return lateMetadata.computeIfAbsent(handlerMethod.getMethod(), method -> resolve(handlerMethod));
+    }
+
+    /**
+     * 解析注解，方法上的注解优先于类上的注解
+     * @param handlerMethod 接口方法
+     * @return
+     */
+    private static HandlerMetadata resolve(HandlerMethod handlerMethod) {
+
+        LoginValid loginValid = findAnnotation(handlerMethod, LoginValid.class);
+        RateLimit rateLimit = findAnnotation(handlerMethod, RateLimit.class);
+        boolean loginRequired = loginValid != null && loginValid.required();
+        if (!loginRequired && rateLimit == null) {
+            return HandlerMetadata.NONE;
+        }
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        return new HandlerMetadata(name, loginRequired, rateLimit);
+    }
+
+    private static <A extends Annotation> A findAnnotation(HandlerMethod handlerMethod, Class<A> type) {
+        A annotation = handlerMethod.getMethodAnnotation(type);
+        return annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), type);
+    }
+
+    /**
+     * 接口元数据，启动时计算，不可变
+     */
+    public static final class HandlerMetadata {
+
+        /** 不需要拦截 */
+        public static final HandlerMetadata NONE = new HandlerMetadata(null, false, null);
+
+        /** 是否验证登录 */
+        private final boolean loginRequired;
+        /** 限流，为null时不限流 */
+        private final RateLimit rateLimit;
+        /** 限流名称，注解未指定时为接口名称（类名.方法名） */
+        private final String rateLimitName;
+
+        /**
+         * @param name 接口名称：类名.方法名，注解未指定key时作为限流名称
+         * @param loginRequired 是否验证登录
+         * @param rateLimit 限流注解
+         */
+        HandlerMetadata(String name, boolean loginRequired, RateLimit rateLimit) {
+            this.loginRequired = loginRequired;
+            this.rateLimit = rateLimit;
+            this.rateLimitName = rateLimit == null ? null : (rateLimit.key().isEmpty() ? name : rateLimit.key());
+        }
+
+        public boolean isLoginRequired() {
+            return loginRequired;
+        }
+
+        public RateLimit getRateLimit() {
+            return rateLimit;
+        }
+
+        public String getRateLimitName() {
+            return rateLimitName;
+        }
+    }
+}
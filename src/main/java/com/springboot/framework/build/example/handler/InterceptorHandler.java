@@ -1,9 +1,9 @@
 package com.springboot.framework.build.example.handler;
 
 import com.springboot.framework.build.example.enums.ReturnCode;
-import com.springboot.framework.build.example.utils.annotation.LoginValid;
+import com.springboot.framework.build.example.utils.TokenUtils;
 import com.springboot.framework.build.example.utils.component.GlobalException;
-import org.springframework.web.method.HandlerMethod;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -14,19 +14,34 @@ import javax.servlet.http.HttpServletResponse;
  * 创建日期：2020/1/19 10:06
  * 作    者：lixuhong
  * 功能描述：拦截处理器
+ * 接口的注解在启动时由HandlerMetadataRegistry解析，这里只按元数据处理
  **************************************************************/
 public class InterceptorHandler implements HandlerInterceptor {
 
+    @Autowired
+    private HandlerMetadataRegistry handlerMetadataRegistry;
+    @Autowired
+    private TokenUtils tokenUtils;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
+        // 取得接口元数据，静态资源和没有注解的接口直接放行
+        HandlerMetadataRegistry.HandlerMetadata metadata = handlerMetadataRegistry.get(handler);
+        if (metadata == HandlerMetadataRegistry.HandlerMetadata.NONE) {
+            return true;
+        }
+
         // 登录拦截
-        // 取得方法注解
-        LoginValid loginValid = ((HandlerMethod) handler).getMethodAnnotation(LoginValid.class);
-        if (loginValid != null && loginValid.required()) {
-            // 验证登录
-        } else {
-            throw new GlobalException(ReturnCode.NOT_LOGIN);
+        if (metadata.isLoginRequired()) {
+            // 验证登录，通过后会话放入request供接口使用；按token限流时限流拦截已经验证过
+            if (request.getAttribute(TokenUtils.SESSION_ATTRIBUTE) == null) {
+                TokenUtils.Session session = tokenUtils.verify(request.getHeader("token"));
+                if (session == null) {
+                    throw GlobalException.of(ReturnCode.NOT_LOGIN);
+                }
+                request.setAttribute(TokenUtils.SESSION_ATTRIBUTE, session);
+            }
         }
 
         return true;
@@ -0,0 +1,74 @@
+package com.springboot.framework.build.example.handler;
+
+import com.springboot.framework.build.example.enums.ReturnCode;
+import com.springboot.framework.build.example.utils.IpAddressUtils;
+import com.springboot.framework.build.example.utils.TokenUtils;
+import com.springboot.framework.build.example.utils.annotation.RateLimit;
+import com.springboot.framework.build.example.utils.component.GlobalException;
+import com.springboot.framework.build.example.utils.redis.RedisRateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**************************************************************
+ * 创建日期：2026/10/18 19:40
+ * 作    者：agent
+ * 功能描述：限流拦截处理器
+ * 处理方法或类上的@RateLimit，超出限制时返回TOO_MANY_REQUESTS
+ **************************************************************/
+public class RateLimitHandler implements HandlerInterceptor {
+
+    /** redis中桶的前缀 */
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @Autowired
+    private RedisRateLimiter rateLimiter;
+    @Autowired
+    private HandlerMetadataRegistry handlerMetadataRegistry;
+    @Autowired
+    private TokenUtils tokenUtils;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        // 注解在启动时解析，静态资源等非接口请求、没有@RateLimit的接口不限流
+        HandlerMetadataRegistry.HandlerMetadata metadata = handlerMetadataRegistry.get(handler);
+        RateLimit rateLimit = metadata.getRateLimit();
+        if (rateLimit == null) {
+            return true;
+        }
+
+        if (!rateLimiter.tryAcquire(key(rateLimit, metadata.getRateLimitName(), request), rateLimit.limit(), rateLimit.period())) {
+            throw GlobalException.of(ReturnCode.TOO_MANY_REQUESTS);
+        }
+        return true;
+    }
+
+    /**
+     * 限流的桶
+     * @param rateLimit 注解
+     * @param name 限流名称
+     * @param request 请求
+     * @return rate-limit:名称:维度
+     */
+    private String key(RateLimit rateLimit, String name, HttpServletRequest request) {
+
+        switch (rateLimit.type()) {
+            case GLOBAL:
+                return KEY_PREFIX + name;
+            case TOKEN:
+                // 按验证通过的会话限流；token请求头由客户端任意填写，直接作为key时每次换一个token就能绕过限流
+                TokenUtils.Session session = tokenUtils.verify(request.getHeader("token"));
+                if (session != null) {
+                    // 登录拦截不再重复验证
+                    request.setAttribute(TokenUtils.SESSION_ATTRIBUTE, session);
+                    return KEY_PREFIX + name + ":s:" + session.getSessionId();
+                }
+                return KEY_PREFIX + name + ":ip:" + IpAddressUtils.getIpAddress(request);
+            default:
+                return KEY_PREFIX + name + ":ip:" + IpAddressUtils.getIpAddress(request);
+        }
+    }
+}
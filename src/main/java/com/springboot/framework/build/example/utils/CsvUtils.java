@@ -0,0 +1,416 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.excel.ExcelRowCodec;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**************************************************************
+ * 创建日期：2026/10/18 14:30
+ * 作    者：agent
+ * 功能描述：csv/tsv工具
+ * 与ExcelUtils使用相同的@ExcelField注解和表头校验，
+ * 不经过POI，直接通过NIO通道读写UTF-8文本，字符和字节缓冲区在一次读写中复用；
+ * 导出可选gzip压缩，导入自动识别gzip文件
+ **************************************************************/
+public class CsvUtils {
+
+    /** csv分隔符 */
+    public static final char CSV = ',';
+    /** tsv分隔符 */
+    public static final char TSV = '\t';
+    /** 缓冲区大小 */
+    private static final int BUFFER_SIZE = 16 * 1024;
+    /** UTF-8 BOM */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * csv导出
+     * @param list 需要导出的数据
+     * @param clazz list的包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportCsv(List<T> list, Class<T> clazz, HttpServletResponse response) throws Exception {
+        Iterator<T> iterator = list == null ? Collections.<T>emptyIterator() : list.iterator();
+        exportCsv(iterator, clazz, CSV, false, response);
+    }
+
+    /**
+     * csv/tsv导出
+     * @param iterator 需要导出的数据
+     * @param clazz 数据包装类
+     * @param delimiter 分隔符 CSV/TSV
+     * @param gzip 是否gzip压缩传输（Content-Encoding: gzip）
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportCsv(Iterator<T> iterator, Class<T> clazz, char delimiter, boolean gzip, HttpServletResponse response) throws Exception {
+
+        String fileName = delimiter == TSV ? "about.tsv" : "about.csv";
+        try {
+            response.setContentType((delimiter == TSV ? "text/tab-separated-values" : "text/csv") + ";charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "utf-8"));
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                response.setHeader("Content-Encoding", "gzip");
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            writeCsv(iterator, clazz, delimiter, out);
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+        } catch (Exception e) {
+            throw new Exception("Csv下载错误", e);
+        }
+    }
+
+    /**
+     * 写入csv/tsv
+     * @param iterator 需要写入的数据
+     * @param clazz 数据包装类
+     * @param delimiter 分隔符
+     * @param out 输出流，写入完成后不关闭
+     * @param <T>
+     */
+    public static <T> void writeCsv(Iterator<T> iterator, Class<T> clazz, char delimiter, OutputStream out) throws IOException {
+
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
+        ChannelTextWriter writer = new ChannelTextWriter(Channels.newChannel(out));
+
+        // 写入表头
+        String[] cells = new String[codec.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = codec.getColumns().get(i).getTitle();
+        }
+        writeRecord(writer, cells, delimiter);
+
+        // 写入数据
+        if (iterator != null) {
+            while (iterator.hasNext()) {
+                writeRecord(writer, codec.format(iterator.next(), cells), delimiter);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * csv导入
+     * @param file csv文件，可以是gzip压缩的
+     * @param clazz 返回数据包装类（该类必须包含无参数构造方法）
+     * @param <T>
+     */
+    public static <T> List<T> importCsv(MultipartFile file, Class<T> clazz) throws Exception {
+        List<T> list = new ArrayList<>();
+        importCsv(file, clazz, CSV, list::add);
+        return list;
+    }
+
+    /**
+     * csv/tsv流式导入，每解析出一行回调一次
+     * @param file 文件，可以是gzip压缩的
+     * @param clazz 返回数据包装类（该类必须包含无参数构造方法）
+     * @param delimiter 分隔符 CSV/TSV
+     * @param consumer 每行数据的回调
+     * @param <T>
+     */
+    public static <T> void importCsv(MultipartFile file, Class<T> clazz, char delimiter, Consumer<T> consumer) throws Exception {
+        try (InputStream is = file.getInputStream()) {
+            readCsv(is, clazz, delimiter, consumer);
+        }
+    }
+
+    /**
+     * 读取csv/tsv
+     * @param is 输入流，可以是gzip压缩的
+     * @param clazz 返回数据包装类（该类必须包含无参数构造方法）
+     * @param delimiter 分隔符
+     * @param consumer 每行数据的回调
+     * @param <T>
+     */
+    public static <T> void readCsv(InputStream is, Class<T> clazz, char delimiter, Consumer<T> consumer) throws Exception {
+
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
+        ChannelTextReader reader = new ChannelTextReader(Channels.newChannel(gunzipIfNeeded(is)));
+
+        List<String> fields = new ArrayList<>(codec.size());
+        // 检查表头
+        if (!readRecord(reader, fields, delimiter)) {
+            throw new Exception("Csv表头错误");
+        }
+        if (!fields.isEmpty() && fields.get(0) != null && fields.get(0).length() > 0 && fields.get(0).charAt(0) == BOM) {
+            fields.set(0, fields.get(0).substring(1));
+        }
+        if (!codec.checkHeader(fields)) {
+            throw new Exception("Csv表头错误");
+        }
+
+        // 写入数据到对象
+        while (readRecord(reader, fields, delimiter)) {
+            // 空行
+            if (fields.size() == 1 && fields.get(0) == null) {
+                continue;
+            }
+            consumer.accept(codec.parse(fields));
+        }
+    }
+
+    /**
+     * 写入一行
+     * @param writer 写入器
+     * @param cells 单元格文本
+     * @param delimiter 分隔符
+     */
+    private static void writeRecord(ChannelTextWriter writer, String[] cells, char delimiter) throws IOException {
+
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            String cell = cells[i];
+            if (cell == null) {
+                continue;
+            }
+            if (needQuote(cell, delimiter)) {
+                // 含分隔符、引号、换行时加引号，内部引号转义为两个引号
+                writer.write('"');
+                for (int j = 0; j < cell.length(); j++) {
+                    char c = cell.charAt(j);
+                    if (c == '"') {
+                        writer.write('"');
+                    }
+                    writer.write(c);
+                }
+                writer.write('"');
+            } else {
+                writer.write(cell);
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * 是否需要加引号
+     * @param cell 单元格文本
+     * @param delimiter 分隔符
+     * @return
+     */
+    private static boolean needQuote(String cell, char delimiter) {
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取一行
+     * @param reader 读取器
+     * @param fields 用于存放字段，会先清空；空字段为null
+     * @param delimiter 分隔符
+     * @return false：已读到文件末尾
+     */
+    private static boolean readRecord(ChannelTextReader reader, List<String> fields, char delimiter) throws IOException {
+
+        fields.clear();
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+
+        StringBuilder field = reader.field;
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (c < 0) {
+                fields.add(toField(field, quoted));
+                return true;
+            }
+            if (c == '"' && field.length() == 0 && !quoted) {
+                // 引号字段，读到配对的引号为止
+                quoted = true;
+                while (true) {
+                    c = reader.read();
+                    if (c < 0) {
+                        break;
+                    }
+                    if (c == '"') {
+                        if (reader.peek() == '"') {
+                            reader.read();
+                            field.append('"');
+                            continue;
+                        }
+                        break;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == delimiter) {
+                fields.add(toField(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && reader.peek() == '\n') {
+                    reader.read();
+                }
+                fields.add(toField(field, quoted));
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * 字段文本，未加引号的空字段视为空单元格
+     */
+    private static String toField(StringBuilder field, boolean quoted) {
+        return field.length() == 0 && !quoted ? null : field.toString();
+    }
+
+    /**
+     * 如果是gzip压缩的输入流则解压
+     * @param is 输入流
+     * @return
+     */
+    private static InputStream gunzipIfNeeded(InputStream is) throws IOException {
+
+        PushbackInputStream pushback = new PushbackInputStream(is, 2);
+        byte[] magic = new byte[2];
+        int n = pushback.read(magic);
+        if (n > 0) {
+            pushback.unread(magic, 0, n);
+        }
+        if (n == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            return new GZIPInputStream(pushback, BUFFER_SIZE);
+        }
+        return pushback;
+    }
+
+    /**
+     * 基于通道的UTF-8文本写入，字符缓冲区写满后编码到字节缓冲区再写入通道
+     */
+    private static class ChannelTextWriter {
+
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+
+        ChannelTextWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(char c) throws IOException {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            chars.put(c);
+        }
+
+        void write(String text) throws IOException {
+            int offset = 0;
+            while (offset < text.length()) {
+                if (!chars.hasRemaining()) {
+                    encode(false);
+                }
+                int len = Math.min(chars.remaining(), text.length() - offset);
+                chars.put(text, offset, offset + len);
+                offset += len;
+            }
+        }
+
+        void flush() throws IOException {
+            encode(true);
+            encoder.flush(bytes);
+            drain();
+            encoder.reset();
+        }
+
+        private void encode(boolean endOfInput) throws IOException {
+            chars.flip();
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    drain();
+                    continue;
+                }
+                if (result.isError()) {
+                    result.throwException();
+                }
+                break;
+            }
+            // 未编码的字符（不完整的代理对）保留到下一次
+            chars.compact();
+            drain();
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+    }
+
+    /**
+     * 基于通道的UTF-8文本读取，支持向前看一个字符
+     */
+    private static class ChannelTextReader {
+
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        /** 当前字段，每个字段复用 */
+        private final StringBuilder field = new StringBuilder();
+        private int position;
+        private int limit;
+
+        ChannelTextReader(ReadableByteChannel channel) {
+            this.reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE);
+        }
+
+        int read() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        int peek() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int n = reader.read(buffer, 0, buffer.length);
+            while (n == 0) {
+                n = reader.read(buffer, 0, buffer.length);
+            }
+            if (n < 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+    }
+}
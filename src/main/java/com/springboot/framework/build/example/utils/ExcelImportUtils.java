@@ -0,0 +1,299 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.excel.ExcelRowListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**************************************************************
+ * 创建日期：2026/10/18 16:50
+ * 作    者：agent
+ * 功能描述：excel批量导入数据库
+ * 边解析边写入：SAX解析出的行先校验，通过的行攒够batch-size条后
+ * 用JDBC批量插入，每批一个独立的新事务(REQUIRES_NEW)，不会因为整个文件持有一个长事务，
+ * 在调用方的事务中导入时，已提交的批次也不会随调用方回滚；
+ * 校验失败、转换失败的行记录行号和原因后跳过，不影响其他行；
+ * 某一行写入失败（如违反唯一约束）时整批回滚，再逐行重试，失败的行记录原因后跳过，其他行照常写入；
+ * 数据库不可用时终止导入，已提交的批次保留；
+ * MySQL连接需要开启rewriteBatchedStatements=true，批量插入才会合并为多值insert
+ * 用法：
+ * excelImportUtils.importExcel(file, User.class,
+ *         "insert into user(name, age) values(?, ?)",
+ *         (ps, user) -> { ps.setString(1, user.getName()); ps.setInt(2, user.getAge()); },
+ *         user -> user.getName() == null ? "姓名不能为空" : null,
+ *         result -> log.info("已导入{}行", result.getSuccess()));
+ **************************************************************/
+@Component
+public class ExcelImportUtils {
+
+    /** 每批插入的行数 */
+    @Value("${excel.import.batch-size:1000}")
+    private int batchSize;
+    /** 最多记录的错误行数，超出只计数 */
+    @Value("${excel.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * excel批量导入数据库
+     * @param file excel文件
+     * @param clazz 数据包装类
+     * @param sql 插入语句
+     * @param setter 设置插入语句参数
+     * @param validator 校验，返回失败原因，通过时返回null
+     * @param progress 每批提交后回调，可为null
+     * @param <T>
+     * @return 导入结果
+     */
+    public <T> ImportResult importExcel(MultipartFile file, Class<T> clazz, String sql,
+                                        ParameterizedPreparedStatementSetter<T> setter,
+                                        Function<T, String> validator,
+                                        Consumer<ImportResult> progress) throws Exception {
+
+        BatchInserter<T> inserter = new BatchInserter<>(sql, setter, validator, progress);
+        ExcelUtils.importExcelWithRows(file, clazz, inserter);
+        inserter.flush();
+        inserter.result.finishTime = System.currentTimeMillis();
+        return inserter.result;
+    }
+
+    /**
+     * 已解析的数据批量导入数据库，行号从2开始计算（第1行为表头）
+     * @param list 数据
+     * @param sql 插入语句
+     * @param setter 设置插入语句参数
+     * @param validator 校验，返回失败原因，通过时返回null
+     * @param progress 每批提交后回调，可为null
+     * @param <T>
+     * @return 导入结果
+     */
+    public <T> ImportResult importList(List<T> list, String sql,
+                                       ParameterizedPreparedStatementSetter<T> setter,
+                                       Function<T, String> validator,
+                                       Consumer<ImportResult> progress) {
+
+        BatchInserter<T> inserter = new BatchInserter<>(sql, setter, validator, progress);
+        for (int i = 0; i < list.size(); i++) {
+            inserter.onRow(i + 2, list.get(i));
+        }
+        inserter.flush();
+        inserter.result.finishTime = System.currentTimeMillis();
+        return inserter.result;
+    }
+
+    /**
+     * 批量插入
+     * 作为SAX解析的行回调，在解析线程中执行
+     */
+    private class BatchInserter<T> implements ExcelRowListener<T> {
+
+        private final String sql;
+        private final ParameterizedPreparedStatementSetter<T> setter;
+        private final Function<T, String> validator;
+        private final Consumer<ImportResult> progress;
+        private final ImportResult result = new ImportResult();
+        /** 待插入的行，每批复用 */
+        private final List<T> batch = new ArrayList<>(batchSize);
+        /** 待插入行的行号，与batch对应 */
+        private final List<Integer> batchRows = new ArrayList<>(batchSize);
+
+        BatchInserter(String sql, ParameterizedPreparedStatementSetter<T> setter,
+                      Function<T, String> validator, Consumer<ImportResult> progress) {
+            this.sql = sql;
+            this.setter = setter;
+            this.validator = validator;
+            this.progress = progress;
+        }
+
+        @Override
+        public void onRow(int rowNum, T data) {
+
+            result.total.incrementAndGet();
+            String error = validator == null ? null : validator.apply(data);
+            if (error != null) {
+                addError(rowNum, error);
+                return;
+            }
+            batch.add(data);
+            batchRows.add(rowNum);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public boolean onError(int rowNum, String message) {
+            result.total.incrementAndGet();
+            addError(rowNum, message);
+            return true;
+        }
+
+        /**
+         * 提交当前批次，一批一个事务
+         * 写入失败时整批回滚，再逐行重试；数据库不可用时终止导入，之前已提交的批次保留
+         */
+        void flush() {
+
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, batch, batch.size(), setter));
+                result.success.addAndGet(batch.size());
+            } catch (DataAccessResourceFailureException e) {
+                throw new IllegalStateException("第" + batchRows.get(0) + "行至第"
+                        + batchRows.get(batchRows.size() - 1) + "行写入失败：" + messageOf(e), e);
+            } catch (RuntimeException e) {
+                // 整批已回滚，批量插入不能可靠地指出是哪一行失败（rewriteBatchedStatements合并后更新计数不可用），逐行重试
+                insertRowByRow();
+            }
+            batch.clear();
+            batchRows.clear();
+            if (progress != null) {
+                progress.accept(result);
+            }
+        }
+
+        /**
+         * 逐行插入当前批次，每行一个事务，失败的行记录原因后跳过
+         */
+        private void insertRowByRow() {
+
+            for (int i = 0; i < batch.size(); i++) {
+                T data = batch.get(i);
+                try {
+                    transactionTemplate.execute(status -> jdbcTemplate.update(sql, ps -> setter.setValues(ps, data)));
+                    result.success.incrementAndGet();
+                } catch (DataAccessResourceFailureException e) {
+                    throw new IllegalStateException("第" + batchRows.get(i) + "行写入失败：" + messageOf(e), e);
+                } catch (RuntimeException e) {
+                    addError(batchRows.get(i), "写入失败：" + messageOf(e));
+                }
+            }
+        }
+
+        private void addError(int rowNum, String message) {
+            result.failed.incrementAndGet();
+            if (result.errors.size() < maxErrors) {
+                result.errors.add(new RowError(rowNum, message));
+            }
+        }
+    }
+
+    /**
+     * 异常原因，取最内层的数据库错误信息
+     * @param e 异常
+     * @return
+     */
+    private static String messageOf(RuntimeException e) {
+        if (e instanceof NestedRuntimeException) {
+            return ((NestedRuntimeException) e).getMostSpecificCause().getMessage();
+        }
+        return e.getMessage();
+    }
+
+    /**
+     * 导入结果，导入过程中可以作为进度读取
+     */
+    public static class ImportResult {
+
+        /** 已读取行数 */
+        private final AtomicLong total = new AtomicLong();
+        /** 已写入行数 */
+        private final AtomicLong success = new AtomicLong();
+        /** 失败行数 */
+        private final AtomicLong failed = new AtomicLong();
+        /** 失败行，最多记录max-errors条 */
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        /** 开始时间 */
+        private final long startTime = System.currentTimeMillis();
+        /** 完成时间 */
+        private volatile long finishTime;
+
+        public long getTotal() {
+            return total.get();
+        }
+
+        public long getSuccess() {
+            return success.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getFinishTime() {
+            return finishTime;
+        }
+
+        /**
+         * 写入速度(行/秒)
+         */
+        public long getRowsPerSecond() {
+            long end = finishTime > 0 ? finishTime : System.currentTimeMillis();
+            long millis = Math.max(1, end - startTime);
+            return success.get() * TimeUnit.SECONDS.toMillis(1) / millis;
+        }
+    }
+
+    /**
+     * 失败行
+     */
+    public static class RowError {
+
+        /** 行号 */
+        private final int rowNum;
+        /** 失败原因 */
+        private final String message;
+
+        RowError(int rowNum, String message) {
+            this.rowNum = rowNum;
+            this.message = message;
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.excel.ExcelRowCodec;
+import com.springboot.framework.build.example.utils.excel.ExcelStyleRegistry;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**************************************************************
+ * 创建日期：2026/10/18 11:10
+ * 作    者：agent
+ * 功能描述：excel并行导出
+ * 数据按单个sheet的行数上限分区，超出1048576行时自动分sheet或分文件；
+ * 每个分区在有界的ForkJoinPool中由一个线程完整写入：
+ * 分sheet时每个分区写入同一个SXSSFWorkbook中自己的sheet（各sheet的行写入各自的临时文件），最后合并输出；
+ * 分文件时每个分区生成自己的workbook；
+ * sheet的创建、表头和样式在调用线程中完成，并行任务只写各自sheet的数据行，输出与串行导出一致；
+ * 同时进行的分区数不超过线程池并行度，数据量小于一个sheet时只有一个分区，与串行导出相同
+ **************************************************************/
+public class ExcelParallelUtils {
+
+    /** 单个sheet最大数据行数（扣除表头） */
+    public static final int MAX_SHEET_ROWS = ExcelStreamWriter.MAX_SHEET_ROWS;
+    /** 流式导出时内存中保留的行数 */
+    private static final int ROW_ACCESS_WINDOW = ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW;
+    /** 默认线程池，并行度为CPU核数 */
+    private static final ForkJoinPool DEFAULT_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * excel并行导出，超出sheet行数上限时在同一个文件中分sheet
+     * @param list 需要导出的数据
+     * @param clazz list的包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportExcel(List<T> list, Class<T> clazz, HttpServletResponse response) throws Exception {
+        List<T> data = list == null ? Collections.<T>emptyList() : list;
+        ExcelUtils.setDownloadHeader("about.xlsx", response);
+        exportExcel(data, clazz, response.getOutputStream(), MAX_SHEET_ROWS, DEFAULT_POOL);
+    }
+
+    /**
+     * excel并行导出，超出sheet行数上限时按分区打包为zip，每个分区一个文件
+     * @param list 需要导出的数据
+     * @param clazz list的包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportZip(List<T> list, Class<T> clazz, HttpServletResponse response) throws Exception {
+        List<T> data = list == null ? Collections.<T>emptyList() : list;
+        ExcelUtils.setDownloadHeader("about.zip", response);
+        exportZip(data, clazz, response.getOutputStream(), MAX_SHEET_ROWS, DEFAULT_POOL);
+    }
+
+    /**
+     * excel并行导出到一个workbook，分区直接取list的subList，不复制数据
+     * @param list 需要导出的数据
+     * @param clazz 数据包装类
+     * @param out 输出流
+     * @param sheetRows 每个sheet的数据行数
+     * @param pool 写入线程池
+     * @param <T>
+     */
+    public static <T> void exportExcel(List<T> list, Class<T> clazz, OutputStream out, int sheetRows, ForkJoinPool pool) throws Exception {
+        exportSheets(partitions(list, sheetRows(sheetRows)), clazz, out, pool);
+    }
+
+    /**
+     * excel并行导出到一个workbook
+     * 调用线程按分区读取数据，最多同时缓存并行度个分区，每个分区最多sheetRows行
+     * @param iterator 需要导出的数据
+     * @param clazz 数据包装类
+     * @param out 输出流
+     * @param sheetRows 每个sheet的数据行数
+     * @param pool 写入线程池
+     * @param <T>
+     */
+    public static <T> void exportExcel(Iterator<T> iterator, Class<T> clazz, OutputStream out, int sheetRows, ForkJoinPool pool) throws Exception {
+        exportSheets(partitions(iterator, sheetRows(sheetRows)), clazz, out, pool);
+    }
+
+    /**
+     * excel并行导出为zip
+     * 每个分区在线程池中独立生成workbook并写入临时文件，按分区顺序打包；
+     * 同时生成的文件不超过并行度个，最早的分区完成后立即打包并删除临时文件，再提交下一个分区
+     * @param list 需要导出的数据
+     * @param clazz 数据包装类
+     * @param out 输出流
+     * @param sheetRows 每个文件的数据行数
+     * @param pool 线程池
+     * @param <T>
+     */
+    public static <T> void exportZip(List<T> list, Class<T> clazz, OutputStream out, int sheetRows, ForkJoinPool pool) throws Exception {
+
+        Iterator<List<T>> partitions = partitions(list, sheetRows(sheetRows));
+        Deque<ForkJoinTask<File>> pending = new ArrayDeque<>();
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            int fileNum = 0;
+            while (partitions.hasNext() || !pending.isEmpty()) {
+                // 补足同时生成的分区
+                while (partitions.hasNext() && pending.size() < pool.getParallelism()) {
+                    List<T> partition = partitions.next();
+                    pending.addLast(pool.submit(() -> writePartition(partition, clazz)));
+                }
+                // 按分区顺序打包
+                File file = pending.peekFirst().join();
+                try {
+                    zip.putNextEntry(new ZipEntry("about-" + (++fileNum) + ".xlsx"));
+                    Files.copy(file.toPath(), zip);
+                    zip.closeEntry();
+                } finally {
+                    pending.pollFirst();
+                    file.delete();
+                }
+            }
+            zip.finish();
+        } finally {
+            // 出错时等待已提交的分区结束再删除临时文件
+            for (ForkJoinTask<File> task : pending) {
+                try {
+                    task.join().delete();
+                } catch (Exception e) {
+                    // 该分区未生成文件
+                }
+            }
+        }
+    }
+
+    /**
+     * 每个分区写入同一个workbook中自己的sheet
+     * @param partitions 分区，至少一个
+     * @param clazz 数据包装类
+     * @param out 输出流
+     * @param pool 写入线程池
+     * @param <T>
+     */
+    private static <T> void exportSheets(Iterator<List<T>> partitions, Class<T> clazz, OutputStream out, ForkJoinPool pool) throws IOException {
+
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        // 压缩临时文件，减少磁盘占用
+        workbook.setCompressTempFiles(true);
+        Deque<ForkJoinTask<?>> pending = new ArrayDeque<>();
+        try {
+            // 样式池非线程安全，只在调用线程中使用；并行任务只读取已创建好的列样式
+            ExcelStyleRegistry styles = new ExcelStyleRegistry(workbook);
+            CellStyle[] columnStyles = styles.getColumnStyles(codec);
+            while (partitions.hasNext()) {
+                List<T> partition = partitions.next();
+                Sheet sheet = createSheet(workbook, codec, styles);
+                pending.addLast(pool.submit(() -> writeSheet(sheet, partition, codec, columnStyles)));
+                if (pending.size() >= pool.getParallelism()) {
+                    pending.pollFirst().join();
+                }
+            }
+            while (!pending.isEmpty()) {
+                pending.pollFirst().join();
+            }
+            // 依次合并各sheet的临时文件
+            workbook.write(out);
+        } finally {
+            // 出错时等待已提交的分区结束再删除临时文件
+            for (ForkJoinTask<?> task : pending) {
+                try {
+                    task.join();
+                } catch (Exception e) {
+                    // 只需等待结束
+                }
+            }
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * 创建sheet并写入表头，在调用线程中执行
+     * @param workbook 文档对象
+     * @param codec 编解码器
+     * @param styles 样式池
+     * @return
+     */
+    private static Sheet createSheet(SXSSFWorkbook workbook, ExcelRowCodec<?> codec, ExcelStyleRegistry styles) {
+        Sheet sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+        ExcelUtils.writeHeader(sheet, codec, styles, 0);
+        // 冻结表头
+        sheet.createFreezePane(0, 1, 0, 1);
+        return sheet;
+    }
+
+    /**
+     * 写入一个分区的数据行，在线程池中执行
+     * 每个SXSSF sheet的行写入自己的临时文件，不同sheet之间没有共享的可变状态
+     * @param sheet 分区对应的sheet
+     * @param partition 分区数据
+     * @param codec 编解码器
+     * @param columnStyles 每一列的样式
+     * @param <T>
+     */
+    private static <T> void writeSheet(Sheet sheet, List<T> partition, ExcelRowCodec<T> codec, CellStyle[] columnStyles) {
+        // 单元格的值，每行复用
+        Object[] values = new Object[codec.size()];
+        int rowNum = 1;
+        for (T data : partition) {
+            ExcelUtils.writeRow(sheet, rowNum++, codec.cellValues(data, values), columnStyles);
+        }
+    }
+
+    /**
+     * 生成一个分区的文件
+     * @param partition 分区数据
+     * @param clazz 数据包装类
+     * @param <T>
+     * @return 临时文件
+     */
+    private static <T> File writePartition(List<T> partition, Class<T> clazz) {
+
+        try (ExcelStreamWriter<T> writer = new ExcelStreamWriter<>(clazz, MAX_SHEET_ROWS, ROW_ACCESS_WINDOW)) {
+            File file = File.createTempFile("excel-export-", ".xlsx");
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                for (T data : partition) {
+                    writer.write(data);
+                }
+                writer.writeTo(out);
+            } catch (IOException | RuntimeException e) {
+                file.delete();
+                throw e;
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 每个sheet的数据行数，不超过上限
+     */
+    private static int sheetRows(int sheetRows) {
+        return Math.max(1, Math.min(sheetRows, MAX_SHEET_ROWS));
+    }
+
+    /**
+     * 按行数分区，取subList不复制数据；没有数据时返回一个空分区，只输出表头
+     * @param list 数据
+     * @param size 每个分区的行数
+     * @param <T>
+     * @return
+     */
+    private static <T> Iterator<List<T>> partitions(List<T> list, int size) {
+        return new Iterator<List<T>>() {
+
+            private int from = 0;
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return first || from < list.size();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                first = false;
+                List<T> partition = list.subList(from, Math.min(from + size, list.size()));
+                from += size;
+                return partition;
+            }
+        };
+    }
+
+    /**
+     * 按行数分区，每次读取一个分区的数据；没有数据时返回一个空分区，只输出表头
+     * @param iterator 数据
+     * @param size 每个分区的行数
+     * @param <T>
+     * @return
+     */
+    private static <T> Iterator<List<T>> partitions(Iterator<T> iterator, int size) {
+        return new Iterator<List<T>>() {
+
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return first || iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                first = false;
+                List<T> partition = new ArrayList<>();
+                while (partition.size() < size && iterator.hasNext()) {
+                    partition.add(iterator.next());
+                }
+                return partition;
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.excel.ExcelRowCodec;
+import com.springboot.framework.build.example.utils.excel.ExcelStyleRegistry;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**************************************************************
+ * 创建日期：2026/10/18 13:40
+ * 作    者：agent
+ * 功能描述：excel流式写入
+ * 基于SXSSFWorkbook逐行写入，内存中只保留rowAccessWindow行，
+ * 写满一个sheet后自动创建下一个sheet；
+ * 样式由样式池统一创建，所有sheet、所有行共用；
+ * 实现了MyBatis的ResultHandler，可以在查询过程中直接写入，不需要先加载List
+ * 使用完毕必须close()，删除临时文件
+ **************************************************************/
+public class ExcelStreamWriter<T> implements ResultHandler<T>, Closeable {
+
+    /** 单个sheet最大数据行数（扣除表头） */
+    public static final int MAX_SHEET_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+    /** 内存中保留的行数，超出部分写入临时文件 */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW = 500;
+
+    private final ExcelRowCodec<T> codec;
+    private final SXSSFWorkbook workbook;
+    /** 样式池 */
+    private final ExcelStyleRegistry styles;
+    /** 每一列的样式 */
+    private final CellStyle[] columnStyles;
+    /** 每个sheet的数据行数 */
+    private final int sheetRows;
+    /** 单元格的值，每行复用 */
+    private final Object[] values;
+    /** 当前sheet */
+    private Sheet sheet;
+    /** 当前sheet下一行的行号 */
+    private int rowNum;
+    /** 已写入的数据行数 */
+    private long rowCount;
+    /** 写入临时文件的字节数，为null时不统计 */
+    private final AtomicLong tempBytes;
+
+    public ExcelStreamWriter(Class<T> clazz) {
+        this(clazz, MAX_SHEET_ROWS, DEFAULT_ROW_ACCESS_WINDOW);
+    }
+
+    /**
+     * @param clazz 数据包装类
+     * @param sheetRows 每个sheet的数据行数
+     * @param rowAccessWindow 内存中保留的行数
+     */
+    public ExcelStreamWriter(Class<T> clazz, int sheetRows, int rowAccessWindow) {
+        this(clazz, sheetRows, rowAccessWindow, null);
+    }
+
+    /**
+     * @param clazz 数据包装类
+     * @param sheetRows 每个sheet的数据行数
+     * @param rowAccessWindow 内存中保留的行数
+     * @param tempBytes 累加超出窗口的行写入临时文件的字节数（压缩后），用于显示写入进度
+     */
+    public ExcelStreamWriter(Class<T> clazz, int sheetRows, int rowAccessWindow, AtomicLong tempBytes) {
+        this.codec = ExcelRowCodec.of(clazz);
+        this.sheetRows = Math.max(1, Math.min(sheetRows, MAX_SHEET_ROWS));
+        this.values = new Object[codec.size()];
+        this.tempBytes = tempBytes;
+        this.workbook = tempBytes == null ? new SXSSFWorkbook(rowAccessWindow) : new SXSSFWorkbook(rowAccessWindow) {
+            @Override
+            protected SheetDataWriter createSheetDataWriter() throws IOException {
+                return new CountingSheetDataWriter();
+            }
+        };
+        // 压缩临时文件，减少磁盘占用
+        this.workbook.setCompressTempFiles(true);
+        this.styles = new ExcelStyleRegistry(workbook);
+        this.columnStyles = styles.getColumnStyles(codec);
+        nextSheet();
+    }
+
+    /**
+     * 写入一行数据
+     * @param data 数据
+     */
+    public void write(T data) {
+        writeValues(codec.cellValues(data, values));
+    }
+
+    /**
+     * 写入一行已转换的单元格的值
+     * @param rowValues 单元格的值，见{@link ExcelRowCodec#cellValues(Object, Object[])}
+     */
+    public void writeValues(Object[] rowValues) {
+        if (rowNum > sheetRows) {
+            nextSheet();
+        }
+        ExcelUtils.writeRow(sheet, rowNum++, rowValues, columnStyles);
+        rowCount++;
+    }
+
+    /**
+     * MyBatis查询结果回调，每取到一行写入一行
+     * @param context 结果上下文
+     */
+    @Override
+    public void handleResult(ResultContext<? extends T> context) {
+        write(context.getResultObject());
+    }
+
+    /**
+     * 输出excel文件
+     * @param out 输出流
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        workbook.write(out);
+    }
+
+    /**
+     * 已写入的数据行数
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public ExcelRowCodec<T> getCodec() {
+        return codec;
+    }
+
+    /**
+     * 删除临时文件
+     */
+    @Override
+    public void close() {
+        workbook.dispose();
+    }
+
+    /**
+     * 创建下一个sheet并写入表头
+     */
+    private void nextSheet() {
+        sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+        ExcelUtils.writeHeader(sheet, codec, styles, 0);
+        // 冻结表头
+        sheet.createFreezePane(0, 1, 0, 1);
+        rowNum = 1;
+    }
+
+    /**
+     * 统计写入字节数的压缩临时文件，与setCompressTempFiles(true)的格式相同
+     */
+    private class CountingSheetDataWriter extends GZIPSheetDataWriter {
+
+        CountingSheetDataWriter() throws IOException {
+            super();
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            OutputStream fos = new CountingOutputStream(new FileOutputStream(fd), tempBytes);
+            try {
+                return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(fos), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                fos.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 统计写入字节数的输出流
+     */
+    static class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong count;
+
+        CountingOutputStream(OutputStream out, AtomicLong count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count.addAndGet(len);
+        }
+    }
+}
@@ -1,21 +1,37 @@
 package com.springboot.framework.build.example.utils;
 
-import com.springboot.framework.build.example.utils.annotation.ExcelField;
+import com.springboot.framework.build.example.utils.excel.ExcelColumn;
+import com.springboot.framework.build.example.utils.excel.ExcelRowCodec;
+import com.springboot.framework.build.example.utils.excel.ExcelRowListener;
+import com.springboot.framework.build.example.utils.excel.ExcelStyleRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import javax.servlet.http.HttpServletResponse;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.File;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.net.URLEncoder;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**************************************************************
  * 创建日期：2020/1/13 14:25
@@ -27,6 +43,7 @@ import java.util.stream.Collectors;
  * 自定义注解：
  * String value() default ""; Excel标题
  * int col() default 0; Excel从左往右排列位置
+ * 字段的读写由ExcelRowCodec按类编译并缓存
  **************************************************************/
 public class ExcelUtils {
 
@@ -39,18 +56,110 @@ public class ExcelUtils {
      */
     public static <T> void exportExcel(List<T> list, Class<T> clazz, HttpServletResponse response) throws Exception {
 
-        // 获取被注解的字段并排序
-        List<Field> fieldList = fieldList(clazz);
+        // 获取类的编解码器（被注解的字段已排序）
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
         // 用于记录excel行
         AtomicInteger ai = new AtomicInteger();
+        // 创建excel文档对象及其样式池
+        Workbook workbook = new XSSFWorkbook();
+        ExcelStyleRegistry styles = new ExcelStyleRegistry(workbook);
         // 写入表头
-        Workbook workbook = writeHeader(fieldList, ai);
+        writeHeader(workbook, codec, styles, ai);
         // 写入数据
-        workbook = writeData(list, fieldList, workbook, ai);
+        workbook = writeData(list, codec, workbook, styles, ai);
         // 通知浏览器下载
         buildExcelDocument("about.xlsx", workbook, response);
     }
 
+    /**
+     * excel流式导出（SXSSF）
+     * 内存中只保留最近的行，堆占用不随数据量增长，适用于大数据量导出；
+     * 首字节时间不会缩短：xlsx是zip包，超出窗口的行先写入压缩的临时文件，
+     * 全部行写完后才在workbook.write中依次输出到响应，需要边生成边下载时使用CsvUtils.exportCsv；
+     * 与exportExcel的堆峰值、首字节时间对比见src/test/java下的benchmark.ExcelExportComparison
+     * @param list 需要导出的数据
+     * @param clazz list的包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportExcelStream(List<T> list, Class<T> clazz, HttpServletResponse response) throws Exception {
+        exportExcelStream(list, clazz, response, ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW);
+    }
+
+    /**
+     * excel流式导出（SXSSF）
+     * @param list 需要导出的数据
+     * @param clazz list的包装类
+     * @param response
+     * @param rowAccessWindow 内存中保留的行数
+     * @param <T>
+     */
+    public static <T> void exportExcelStream(List<T> list, Class<T> clazz, HttpServletResponse response, int rowAccessWindow) throws Exception {
+        Iterator<T> iterator = list == null ? Collections.<T>emptyIterator() : list.iterator();
+        exportExcelStream(iterator, clazz, response, rowAccessWindow);
+    }
+
+    /**
+     * excel流式导出（SXSSF）
+     * 数据逐行从迭代器取出并写入，调用方无需一次性加载全部数据；
+     * 迭代结束后才开始输出响应内容
+     * @param iterator 需要导出的数据
+     * @param clazz 数据包装类
+     * @param response
+     * @param rowAccessWindow 内存中保留的行数
+     * @param <T>
+     */
+    public static <T> void exportExcelStream(Iterator<T> iterator, Class<T> clazz, HttpServletResponse response, int rowAccessWindow) throws Exception {
+
+        // 关闭时删除临时文件
+        try (ExcelStreamWriter<T> writer = new ExcelStreamWriter<>(clazz, ExcelStreamWriter.MAX_SHEET_ROWS, rowAccessWindow)) {
+            // 写入数据
+            if (iterator != null) {
+                iterator.forEachRemaining(writer::write);
+            }
+            // 通知浏览器下载
+            buildExcelDocument("about.xlsx", writer, response);
+        }
+    }
+
+    /**
+     * excel流式导出，数据来自MyBatis游标
+     * 游标逐行从数据库读取，内存占用取决于fetchSize而不是结果集大小；
+     * mapper方法需通过@Options(fetchSize = ...)指定fetchSize（MySQL需开启useCursorFetch），
+     * 并且调用方需处于事务中（@Transactional），保证导出过程中游标所在的连接不被关闭
+     * @param cursor 查询游标，导出结束后关闭
+     * @param clazz 数据包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportExcel(Cursor<T> cursor, Class<T> clazz, HttpServletResponse response) throws Exception {
+        try {
+            exportExcelStream(cursor.iterator(), clazz, response, ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * excel流式导出，数据来自MyBatis的ResultHandler
+     * 查询过程中每取到一行立即写入，用法：
+     * ExcelUtils.exportExcelByHandler(handler -> mapper.selectAll(handler), User.class, response)
+     * @param query 以ResultHandler为参数的查询
+     * @param clazz 数据包装类
+     * @param response
+     * @param <T>
+     */
+    public static <T> void exportExcelByHandler(Consumer<ResultHandler<T>> query, Class<T> clazz, HttpServletResponse response) throws Exception {
+
+        // 关闭时删除临时文件
+        try (ExcelStreamWriter<T> writer = new ExcelStreamWriter<>(clazz)) {
+            // 执行查询并写入数据
+            query.accept(writer);
+            // 通知浏览器下载
+            buildExcelDocument("about.xlsx", writer, response);
+        }
+    }
+
     /**
      * excel导入
      * @param file  excel文件
@@ -67,87 +176,145 @@ public class ExcelUtils {
 
         int firstRowNum = sheet.getFirstRowNum();
 
-        // 获取字段
-        List<Field> fieldList = fieldList(clazz);
+        // 获取类的编解码器
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
         // 获取表头
         Row head = sheet.getRow(firstRowNum);
         // 检查
-        if(!checkField(head, fieldList)){
+        if(!checkField(head, codec)){
             throw new Exception("Excel表头错误");
         }
         // 写入数据到对象
-        List<T> list = wirteToObj(sheet, fieldList, clazz);
+        List<T> list = wirteToObj(sheet, codec);
 
         return list;
     }
 
+    /**
+     * excel流式导入（SAX事件模式）
+     * 按行解析sheet的xml，每解析出一行回调一次，整个文件不会被加载到内存
+     * @param file  excel文件
+     * @param clazz 返回数据包装类（该类必须包含无参数构造方法）
+     * @param consumer 每行数据的回调
+     * @param <T>
+     */
+    public static <T> void importExcel(MultipartFile file, Class<T> clazz, Consumer<T> consumer) throws Exception {
+        importExcelWithRows(file, clazz, (rowNum, data) -> consumer.accept(data));
+    }
+
+    /**
+     * excel流式导入（SAX事件模式），回调中带有行号
+     * 转换失败的行交给listener.onError处理，可以跳过该行继续解析
+     * @param file  excel文件
+     * @param clazz 返回数据包装类（该类必须包含无参数构造方法）
+     * @param listener 行回调
+     * @param <T>
+     */
+    public static <T> void importExcelWithRows(MultipartFile file, Class<T> clazz, ExcelRowListener<T> listener) throws Exception {
+
+        // 获取类的编解码器
+        ExcelRowCodec<T> codec = ExcelRowCodec.of(clazz);
+        // 上传文件先落盘，按文件方式打开，避免把整个压缩包读入内存
+        File tempFile = File.createTempFile("excel-import-", ".xlsx");
+        OPCPackage pkg = null;
+        try {
+            file.transferTo(tempFile);
+            pkg = OPCPackage.open(tempFile, PackageAccess.READ);
+
+            XSSFReader reader = new XSSFReader(pkg);
+            // 共享字符串表只读取一次
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            // 只读取第一个表单
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new Exception("Excel表单不存在");
+            }
+            try (InputStream sheet = sheets.next()) {
+                SheetRowHandler<T> rowHandler = new SheetRowHandler<>(codec, listener);
+                XMLReader xmlReader = newXMLReader();
+                xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, strings, rowHandler, new SheetDataFormatter(), false));
+                xmlReader.parse(new InputSource(sheet));
+            }
+        } catch (ExcelReadException e) {
+            throw new Exception(e.getMessage());
+        } finally {
+            if (pkg != null) {
+                // 只读打开，放弃修改即可
+                pkg.revert();
+            }
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * 创建SAX解析器
+     * @return
+     */
+    private static XMLReader newXMLReader() throws Exception {
+
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        // 禁止外部实体，防止XXE
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+
+        return factory.newSAXParser().getXMLReader();
+    }
+
     /**
      * 检查excel表头和待转对象字段是否一致
      * @param head excel表头
-     * @param fieldList 须转换的类字段
+     * @param codec 待转对象的编解码器
      * @return true：通过；false：不通过
      */
-    private static boolean checkField(Row head, List<Field> fieldList){
+    private static boolean checkField(Row head, ExcelRowCodec<?> codec){
 
         int cellNum = head.getLastCellNum();
 
+        List<String> headList = new ArrayList<>(cellNum);
         for (int i = 0; i < cellNum; i++) {
-            Cell row = head.getCell(i);
-            Field field = fieldList.get(i);
-            if (field == null) {
-                return false;
-            }
-            // 表头文字与注解描述一致
-            ExcelField excelField = field.getAnnotation(ExcelField.class);
-            if (excelField == null) {
-                return false;
-            }
-            if (!excelField.value().equals(row.getStringCellValue())) {
-                return false;
-            }
+            Cell cell = head.getCell(i);
+            headList.add(cell == null ? "" : cell.getStringCellValue());
         }
-        return true;
+        return codec.checkHeader(headList);
     }
 
     /**
      * 写入数据到对象
      * @param sheet 表单
-     * @param fieldList 字段
-     * @param clazz 返回数据包装类
+     * @param codec 返回数据包装类的编解码器
      * @param <T>
      * @return
      */
-    private static <T> List<T> wirteToObj(Sheet sheet, List<Field> fieldList, Class<T> clazz) throws Exception {
+    private static <T> List<T> wirteToObj(Sheet sheet, ExcelRowCodec<T> codec) throws Exception {
 
         List<T> list = new ArrayList<>();
+        List<ExcelColumn> columns = codec.getColumns();
 
         // 由于表头不是需要的数据，因此直接从第二行开始读
         int lastRowNum = sheet.getLastRowNum();
         for (int i = 1; i <= lastRowNum; i++) {
-            // 实例化对象
-            T obj = null;
-            try {
-                obj = clazz.getDeclaredConstructor().newInstance();
-            } catch (Exception e) {
-                throw new Exception("实例化对象的类缺少构造方法");
-            }
-            if (obj == null) {
-                throw new Exception("实例化失败");
+            Row row = sheet.getRow(i);
+            // 空行
+            if (row == null) {
+                continue;
             }
+            // 实例化对象
+            T obj = codec.newInstance();
 
             // 组装数据
-            Row row = sheet.getRow(i);
-            int lastCellNum = row.getLastCellNum();
+            int lastCellNum = Math.min(row.getLastCellNum(), columns.size());
             for (int j = 0; j < lastCellNum; j++){
                 Cell cell = row.getCell(j);
-                String fieldName = fieldList.get(j).getName();
-                // 获取对象字段
-                Field field = getFieldByName(fieldName, clazz);
-                if (field == null) {
-                    throw new Exception("未找到类属性: " + fieldName);
+                if (cell == null) {
+                    continue;
                 }
                 // 赋值
-                obj = setFieldValueByName(cell, field, obj);
+                ExcelColumn column = columns.get(j);
+                column.set(obj, column.read(cell));
             }
             list.add(obj);
         }
@@ -156,215 +323,127 @@ public class ExcelUtils {
     }
 
     /**
-     * 根据字段名给对象字段赋值
-     * @param cell  单元格
-     * @param field 字段
-     * @param obj 对象
-     * @param <T>
-     * @return
+     * 写入表头
+     * @param workbook 文档对象
+     * @param codec 被注解类的编解码器
+     * @param styles 样式池
+     * @param ai 用于记录excel行
+     * @return  返回写入表头后的表单对象
      */
-    private static <T> T setFieldValueByName(Cell cell, Field field, T obj) throws Exception {
-
-        if (field != null) {
-            field.setAccessible(true);
-            // 字段类型
-            Class<?> fieldType = field.getType();
+    private static Workbook writeHeader(Workbook workbook, ExcelRowCodec<?> codec, ExcelStyleRegistry styles, AtomicInteger ai){
 
-            // 根据字段类型给字段赋值
-            try {
-                if (String.class == fieldType) {
-                    field.set(obj, String.valueOf(cell.getStringCellValue()));
-                } else if ((Integer.TYPE == fieldType) || (Integer.class == fieldType)) {
-                    field.set(obj, Integer.parseInt(cell.getStringCellValue()));
-                } else if ((Long.TYPE == fieldType) || (Long.class == fieldType)) {
-                    field.set(obj, Long.valueOf(cell.getStringCellValue()));
-                } else if ((Float.TYPE == fieldType) || (Float.class == fieldType)) {
-                    field.set(obj, Float.valueOf(cell.getStringCellValue()));
-                } else if ((Short.TYPE == fieldType) || (Short.class == fieldType)) {
-                    field.set(obj, Short.valueOf(cell.getStringCellValue()));
-                } else if ((Double.TYPE == fieldType) || (Double.class == fieldType)) {
-                    field.set(obj, Double.valueOf(cell.getStringCellValue()));
-                }  else if ((Boolean.TYPE == fieldType) || (Boolean.class == fieldType)) {
-                    field.set(obj, Boolean.valueOf(cell.getStringCellValue()));
-                } else if (Character.TYPE == fieldType) {
-                    if (cell.getStringCellValue().length() > 0) {
-                        field.set(obj, Character.valueOf(cell.getStringCellValue().charAt(0)));
-                    }
-                } else if (Date.class == fieldType) {
-                    field.set(obj, cell.getDateCellValue());
-                } else if (LocalDateTime.class == fieldType) {
-                    field.set(obj, LocalDateTime.parse(cell.getStringCellValue(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                } else {
-                    field.set(obj, cell.getStringCellValue());
-                }
-            } catch (Exception e) {
-                throw new Exception("对象字段赋值异常");
-            }
-        }
+        // 创建表单对象
+        Sheet sheet = workbook.createSheet("Sheet1");
+        // 写入头部数据
+        writeHeader(sheet, codec, styles, ai.getAndIncrement());
 
-        return obj;
+        return workbook;
     }
 
     /**
-     * 根据字段名获取字段
-     * @param fieldName 字段名
-     * @param clazz 包装类
-     * @return
+     * 写入表头行
+     * 所有表头单元格共用样式池中的同一个样式
+     * @param sheet 表单对象
+     * @param codec 被注解类的编解码器
+     * @param styles 样式池
+     * @param rowNum 表头所在行
      */
-    private static <T> Field getFieldByName(String fieldName, Class<T> clazz) {
-
-        // 获取所有字段
-        Field[] selfFields = clazz.getDeclaredFields();
-        // 如果本类中存在该字段，则返回
-        for (Field field : selfFields) {
-            if (field.getName().equals(fieldName)) {
-                return field;
-            }
-        }
+    static void writeHeader(Sheet sheet, ExcelRowCodec<?> codec, ExcelStyleRegistry styles, int rowNum){
 
-        // 否则，查看父类中是否存在此字段，如果有则返回
-        Class<?> superClazz = clazz.getSuperclass();
-        if (superClazz != null && superClazz != Object.class) {
-            return getFieldByName(fieldName, superClazz);
-        }
+        // 表头样式
+        CellStyle cellStyle = styles.getStyle(ExcelStyleRegistry.HEADER);
+        // 创建行对象
+        Row row = sheet.createRow(rowNum);
+        // 用于记录excel行中的单元格位置
+        AtomicInteger aj = new AtomicInteger();
+        // 写入头部数据
+        codec.getColumns().forEach(column -> {
 
-        // 如果本类和父类都没有，则返回空
-        return null;
+            // 创建单元格对象
+            Cell cell = row.createCell(aj.getAndIncrement());
+            cell.setCellStyle(cellStyle);
+            // 获取被注解字段的value
+            cell.setCellValue(column.getTitle());
+        });
     }
 
     /**
-     * 获取被注解的字段并排序
-     * @param clazz 被注解的类
-     * @return
+     * 写入一行数据
+     * @param sheet 表单对象
+     * @param rowNum 行号
+     * @param values 单元格的值，见{@link ExcelColumn#toCellValue(Object)}
+     * @param columnStyles 每一列的样式，见{@link ExcelStyleRegistry#getColumnStyles(ExcelRowCodec)}
      */
-    private static <T> List<Field> fieldList(Class<T> clazz){
-
-        // 获取calzz类中被注解的字段
-        Field[] fields = clazz.getDeclaredFields();
-
-        List<Field> fieldList = Arrays.stream(fields)
-                // 过滤未被注解的字段
-                .filter(field -> {
-
-                    ExcelField excelField = field.getAnnotation(ExcelField.class);
-                    if (excelField != null) {
-                        field.setAccessible(true);
-                        return true;
-                    }
-                    return false;
-                })
-                // 对被注解的字段进行排序
-                .sorted(Comparator.comparing(field -> {
-                    int col = 0;
-                    ExcelField excelField = field.getAnnotation(ExcelField.class);
-                    if (excelField != null) {
-                        col = excelField.column();
-                    }
-                    return col;
-                }))
-                // 数组转列表
-                .collect(Collectors.toList());
-
-        return fieldList;
+    static void writeRow(Sheet sheet, int rowNum, Object[] values, CellStyle[] columnStyles){
+
+        // 创建行
+        Row row = sheet.createRow(rowNum);
+        for (int j = 0; j < values.length; j++) {
+            // 创建单元格
+            Cell cell = row.createCell(j);
+            if (columnStyles[j] != null) {
+                cell.setCellStyle(columnStyles[j]);
+            }
+            // 写入数据
+            Object value = values[j];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                cell.setCellValue((String) value);
+            } else if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else if (value instanceof Date) {
+                cell.setCellValue((Date) value);
+            } else if (value instanceof LocalDateTime) {
+                cell.setCellValue(Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant()));
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
     }
 
     /**
-     * 写入表头
-     * @param fieldList 被注解的字段
+     * 写入数据
+     * @param list 需要写入的数据
+     * @param codec 被注解类的编解码器
+     * @param workbook 文档对象
+     * @param styles 样式池
      * @param ai 用于记录excel行
      * @return  返回写入表头后的表单对象
      */
-    private static Workbook writeHeader(List<Field> fieldList, AtomicInteger ai){
+    private static <T> Workbook writeData(List<T> list, ExcelRowCodec<T> codec, Workbook workbook, ExcelStyleRegistry styles, AtomicInteger ai){
 
-        // 创建excel文档对象
-        Workbook workbook = new XSSFWorkbook();
-        // 创建表单对象
-        Sheet sheet = workbook.createSheet("Sheet1");
-        // 创建行对象
-        Row row = sheet.createRow(ai.getAndIncrement());
-        // 用于记录excel行中的单元格位置
-        AtomicInteger aj = new AtomicInteger();
-        // 写入头部数据
-        fieldList.forEach(field -> {
-
-            // 获取被注解字段的value
-            ExcelField excelField = field.getAnnotation(ExcelField.class);
-            String columValue = "";
-            if (excelField != null) {
-                columValue = excelField.value();
-            }
+        Iterator<T> iterator = list == null ? Collections.<T>emptyIterator() : list.iterator();
 
-            // 创建单元格对象
-            Cell cell = row.createCell(aj.getAndIncrement());
-            // 单元格样式
-            CellStyle cellStyle = workbook.createCellStyle();
-            cellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
-            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            cellStyle.setAlignment(HorizontalAlignment.CENTER);
-            // 单元格样式
-            Font font = workbook.createFont();
-            cellStyle.setFont(font);
-            cell.setCellStyle(cellStyle);
-            cell.setCellValue(columValue);
-        });
-
-        return workbook;
+        return writeData(iterator, codec, workbook, styles, ai);
     }
 
     /**
      * 写入数据
-     * @param list 需要写入的数据
-     * @param fieldList 被注解的字段
+     * @param iterator 需要写入的数据
+     * @param codec 被注解类的编解码器
      * @param workbook 文档对象
+     * @param styles 样式池
      * @param ai 用于记录excel行
      * @return  返回写入表头后的表单对象
      */
-    private static <T> Workbook writeData(List<T> list, List<Field> fieldList, Workbook workbook, AtomicInteger ai){
+    private static <T> Workbook writeData(Iterator<T> iterator, ExcelRowCodec<T> codec, Workbook workbook, ExcelStyleRegistry styles, AtomicInteger ai){
 
         // 获取表单对象
         Sheet sheet = workbook.getSheetAt(0);
+        // 每一列的样式，整个workbook共用
+        CellStyle[] columnStyles = styles.getColumnStyles(codec);
+        // 单元格的值，每行复用
+        Object[] values = new Object[codec.size()];
         // 写入数据
-        if (list != null && list.size() > 0) {
-            list.forEach(data -> {
-
-                // 创建行
-                Row row = sheet.createRow(ai.getAndIncrement());
-                // 用于记录excel行中的单元格位置
-                AtomicInteger aj = new AtomicInteger();
-                fieldList.forEach(field -> {
-
-                    // 获取字段类型
-                    Class<?> fieldType = field.getType();
-                    // 获取字段数据
-                    Object fieldValue = null;
-                    try {
-                        fieldValue = field.get(data);
-                    } catch (Exception e) {
-                        System.out.println("--- excel取值异常 ---");
-                        e.printStackTrace();
-                    }
-
-                    // 创建单元格
-                    Cell cell = row.createCell(aj.getAndIncrement());
-
-                    // 写入数据
-                    if(fieldValue != null){
-
-                        // 日期格式转换
-                        if (fieldType == Date.class) {
-                            Date date = (Date) fieldValue;
-                            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-                            String dateStr = format.format(date);
-                            cell.setCellValue(dateStr);
-                        } else if (fieldType == LocalDateTime.class) {
-                            LocalDateTime dateTime = (LocalDateTime) fieldValue;
-                            String dateStr = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format(dateTime);
-                            cell.setCellValue(dateStr);
-                        } else {
-                            cell.setCellValue(fieldValue.toString());
-                        }
-                    }
-                });
+        if (iterator != null) {
+            iterator.forEachRemaining(data -> {
+
+                // 字段值转为单元格的值
+                codec.cellValues(data, values);
+                // 写入行
+                writeRow(sheet, ai.getAndIncrement(), values, columnStyles);
             });
         }
 
@@ -383,13 +462,140 @@ public class ExcelUtils {
             // 冻结窗口
             workbook.getSheetAt(0).createFreezePane(0, 1, 0, 1);
 
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
-            response.setHeader("Content-Disposition", "attachment;filename="+ URLEncoder.encode(fileName, "utf-8"));
-            response.flushBuffer();
+            setDownloadHeader(fileName, response);
             workbook.write(response.getOutputStream());
 
         } catch (Exception e) {
             throw new Exception("Excel下载错误");
         }
     }
+
+    /**
+     * 浏览器下载excel（流式写入）
+     * @param fileName excel文件名称
+     * @param writer excel流式写入器
+     * @param response 返回
+     */
+    private static void buildExcelDocument(String fileName, ExcelStreamWriter<?> writer, HttpServletResponse response) throws Exception {
+
+        try {
+            setDownloadHeader(fileName, response);
+            writer.writeTo(response.getOutputStream());
+        } catch (Exception e) {
+            throw new Exception("Excel下载错误");
+        }
+    }
+
+    /**
+     * 设置浏览器下载响应头
+     * @param fileName 文件名称
+     * @param response 返回
+     */
+    static void setDownloadHeader(String fileName, HttpServletResponse response) throws Exception {
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("Content-Disposition", "attachment;filename="+ URLEncoder.encode(fileName, "utf-8"));
+        response.flushBuffer();
+    }
+
+    /**
+     * SAX行处理器
+     * 第一行作为表头校验，其余行转换为对象后回调
+     */
+    private static class SheetRowHandler<T> implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ExcelRowCodec<T> codec;
+        private final ExcelRowListener<T> listener;
+        // 当前行的单元格文本，按列存放
+        private final List<String> values = new ArrayList<>();
+        // 表头是否已校验
+        private boolean headChecked = false;
+        // 上一个单元格所在列
+        private int lastColumn = -1;
+
+        SheetRowHandler(ExcelRowCodec<T> codec, ExcelRowListener<T> listener) {
+            this.codec = codec;
+            this.listener = listener;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values.clear();
+            lastColumn = -1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+
+            // 空单元格不会触发回调，需要根据单元格位置确定列
+            int column = cellReference == null ? lastColumn + 1 : new CellReference(cellReference).getCol();
+            while (values.size() <= column) {
+                values.add(null);
+            }
+            values.set(column, formattedValue);
+            lastColumn = column;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+
+            // 第一行为表头
+            if (!headChecked) {
+                if (!codec.checkHeader(values)) {
+                    throw new ExcelReadException("Excel表头错误");
+                }
+                headChecked = true;
+                return;
+            }
+            // 空行
+            if (values.isEmpty()) {
+                return;
+            }
+
+            // 组装数据，rowNum从0开始
+            T obj;
+            try {
+                obj = codec.parse(values);
+            } catch (Exception e) {
+                if (listener.onError(rowNum + 1, e.getMessage())) {
+                    return;
+                }
+                throw new ExcelReadException(e.getMessage());
+            }
+            listener.onRow(rowNum + 1, obj);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+    }
+
+    /**
+     * 单元格格式化
+     * 日期单元格统一输出为导出时使用的格式，便于转换为Date/LocalDateTime；
+     * 其余数值单元格（包括常规格式）一律输出原始数值，不受千分位等显示格式影响，
+     * 常规格式下11位以上的数字也不会变成科学计数法；与DOM方式导入的ExcelColumn.read一致
+     */
+    private static class SheetDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                Date date = DateUtil.getJavaDate(value);
+                return ExcelColumn.DATE_FORMATTER.format(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    /**
+     * SAX解析过程中的异常
+     * 回调方法不能抛出受检异常，借此传递到外层
+     */
+    private static class ExcelReadException extends RuntimeException {
+
+        ExcelReadException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,433 @@
+package com.springboot.framework.build.example.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.springboot.framework.build.example.enums.ReturnCode;
+import com.springboot.framework.build.example.utils.component.GlobalException;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**************************************************************
+ * 创建日期：2026/10/18 15:20
+ * 作    者：agent
+ * 功能描述：异步导出任务
+ * 提交任务后立即返回任务id，不占用请求线程；
+ * 任务在有界线程池中生成文件到本地磁盘，同时执行的导出数量受max-concurrent限制，
+ * 等待队列满时拒绝新任务；可查询进度（已写入行数、写入磁盘的字节数）；
+ * 文件下载支持HTTP Range，客户端可断点续传；
+ * 完成超过retention-minutes的任务及文件定时清理，正在下载的任务等下载结束后再清理
+ **************************************************************/
+@Component
+public class ExportJobUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobUtils.class);
+
+    /** 同时执行的导出任务数 */
+    @Value("${export.job.max-concurrent:2}")
+    private int maxConcurrent;
+    /** 等待队列长度 */
+    @Value("${export.job.queue-capacity:20}")
+    private int queueCapacity;
+    /** 文件存放目录 */
+    @Value("${export.job.dir:${java.io.tmpdir}/export-jobs}")
+    private String dir;
+    /** 任务完成后文件保留时间(分钟) */
+    @Value("${export.job.retention-minutes:60}")
+    private long retentionMinutes;
+    /** 清理过期任务的间隔(秒) */
+    @Value("${export.job.purge-interval-seconds:60}")
+    private long purgeIntervalSeconds;
+
+    private ThreadPoolExecutor executor;
+    /** 定时清理 */
+    private ScheduledExecutorService purger;
+    private final ConcurrentMap<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+
+        new File(dir).mkdirs();
+
+        AtomicInteger threadNum = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadNum.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-job-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purge, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        purger.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交导出任务
+     * @param source 数据来源，在导出线程中调用
+     * @param clazz 数据包装类
+     * @param fileName 下载文件名称
+     * @param <T>
+     * @return 任务id
+     */
+    public <T> String submit(Supplier<Iterator<T>> source, Class<T> clazz, String fileName) {
+        return submit(clazz, fileName, (job, writer) -> {
+            Iterator<T> iterator = source.get();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                job.rows.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * 提交导出任务，数据来自MyBatis的ResultHandler，用法：
+     * exportJobUtils.submitByHandler(handler -> mapper.selectAll(handler), User.class, "user.xlsx")
+     * @param query 以ResultHandler为参数的查询，在导出线程中调用
+     * @param clazz 数据包装类
+     * @param fileName 下载文件名称
+     * @param <T>
+     * @return 任务id
+     */
+    public <T> String submitByHandler(Consumer<ResultHandler<T>> query, Class<T> clazz, String fileName) {
+        return submit(clazz, fileName, (job, writer) -> query.accept(context -> {
+            writer.write(context.getResultObject());
+            job.rows.incrementAndGet();
+        }));
+    }
+
+    /**
+     * 查询任务
+     * @param id 任务id
+     * @return
+     */
+    public ExportJob getJob(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw GlobalException.of(ReturnCode.EXPORT_NOT_FOUND);
+        }
+        return job;
+    }
+
+    /**
+     * 下载导出文件，支持Range断点续传（只支持单个区间）
+     * @param id 任务id
+     * @param request
+     * @param response
+     */
+    public void download(String id, HttpServletRequest request, HttpServletResponse response) throws Exception {
+
+        ExportJob job = getJob(id);
+        if (job.getStatus() != Status.FINISHED) {
+            throw GlobalException.of(ReturnCode.EXPORT_NOT_READY);
+        }
+        // 下载期间不清理
+        if (!job.acquire()) {
+            throw GlobalException.of(ReturnCode.EXPORT_NOT_FOUND);
+        }
+        try {
+            transfer(job, request, response);
+        } finally {
+            job.release();
+        }
+    }
+
+    /**
+     * 输出文件，Range只支持单个区间
+     * @param job 已完成的任务
+     * @param request
+     * @param response
+     */
+    private static void transfer(ExportJob job, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        long length = job.file.length();
+        long start = 0;
+        long end = length - 1;
+
+        String etag = "\"" + job.getId() + "\"";
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", etag);
+
+        // If-Range不匹配时返回完整文件
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range", "bytes */" + length);
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(job.getFileName(), "utf-8"));
+        response.setContentLengthLong(end - start + 1);
+
+        // 复制文件区间；目标是servlet输出流包装的通道，transferTo在JDK内部经缓冲区复制，不是零拷贝
+        try (FileChannel channel = FileChannel.open(job.file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long n = channel.transferTo(position, remaining, out);
+                position += n;
+                remaining -= n;
+            }
+        }
+    }
+
+    /**
+     * 解析Range请求头
+     * @param range 例如 bytes=0-499, bytes=500-, bytes=-500
+     * @param length 文件长度
+     * @return [start, end]，不满足时返回null
+     */
+    private static long[] parseRange(String range, long length) {
+
+        if (!range.startsWith("bytes=") || range.contains(",")) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // 最后n个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start > end || start >= length) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 提交任务
+     * @param clazz 数据包装类
+     * @param fileName 下载文件名称
+     * @param body 写入数据
+     * @param <T>
+     * @return 任务id
+     */
+    private <T> String submit(Class<T> clazz, String fileName, JobBody<T> body) {
+
+        purge();
+
+        String id = UUID.randomUUID().toString().replace("-", "");
+        ExportJob job = new ExportJob(id, fileName, new File(dir, id + ".xlsx"));
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job, clazz, body));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw GlobalException.of(ReturnCode.EXPORT_BUSY);
+        }
+        return id;
+    }
+
+    /**
+     * 执行任务
+     */
+    private <T> void run(ExportJob job, Class<T> clazz, JobBody<T> body) {
+
+        job.status = Status.RUNNING;
+        // 关闭时删除临时文件；写入数据时统计临时文件的字节数，输出时统计导出文件的字节数
+        try (ExcelStreamWriter<T> writer = new ExcelStreamWriter<>(clazz, ExcelStreamWriter.MAX_SHEET_ROWS,
+                ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW, job.bytes);
+             OutputStream out = new ExcelStreamWriter.CountingOutputStream(new BufferedOutputStream(new FileOutputStream(job.file)), job.bytes)) {
+            body.write(job, writer);
+            writer.writeTo(out);
+            out.flush();
+            job.status = Status.FINISHED;
+        } catch (Throwable e) {
+            // Error同样标记为失败，否则任务一直停留在RUNNING；异常信息只记录日志，不返回给调用方
+            logger.error("导出任务失败: {}", job.id, e);
+            job.error = ReturnCode.EXPORT_FAILED;
+            job.status = Status.FAILED;
+            job.file.delete();
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        } finally {
+            job.finishTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 清理过期任务及文件，跳过正在下载的任务
+     */
+    private void purge() {
+        long expire = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.finishTime > 0 && job.finishTime < expire && job.retire()) {
+                job.file.delete();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 任务写入数据
+     */
+    @FunctionalInterface
+    private interface JobBody<T> {
+        void write(ExportJob job, ExcelStreamWriter<T> writer) throws Exception;
+    }
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        WAITING, RUNNING, FINISHED, FAILED
+    }
+
+    /**
+     * 导出任务
+     */
+    public static class ExportJob {
+
+        /** 任务id */
+        private final String id;
+        /** 下载文件名称 */
+        private final String fileName;
+        /** 本地文件 */
+        private final File file;
+        /** 已写入行数 */
+        private final AtomicLong rows = new AtomicLong();
+        /** 写入磁盘的字节数：临时文件加导出文件 */
+        private final AtomicLong bytes = new AtomicLong();
+        /** 创建时间 */
+        private final long createTime = System.currentTimeMillis();
+        /** 完成时间 */
+        private volatile long finishTime;
+        /** 状态 */
+        private volatile Status status = Status.WAITING;
+        /** 失败时的错误码 */
+        private volatile ReturnCode error;
+        /** 正在进行的下载数，-1表示已清理 */
+        private final AtomicInteger downloads = new AtomicInteger();
+
+        ExportJob(String id, String fileName, File file) {
+            this.id = id;
+            this.fileName = fileName;
+            this.file = file;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        @JsonIgnore
+        public File getFile() {
+            return file;
+        }
+
+        public long getRows() {
+            return rows.get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getCreateTime() {
+            return createTime;
+        }
+
+        public long getFinishTime() {
+            return finishTime;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * 失败时的错误码，见ReturnCode
+         */
+        public Integer getError() {
+            return error == null ? null : error.getCode();
+        }
+
+        /**
+         * 开始下载，任务已清理时返回false
+         */
+        boolean acquire() {
+            int count;
+            do {
+                count = downloads.get();
+                if (count < 0) {
+                    return false;
+                }
+            } while (!downloads.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * 下载结束
+         */
+        void release() {
+            downloads.decrementAndGet();
+        }
+
+        /**
+         * 没有正在进行的下载时标记为已清理，之后不能再开始下载
+         */
+        boolean retire() {
+            return downloads.compareAndSet(0, -1);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisNearCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**************************************************************
+ * 创建日期：2026/10/18 17:50
+ * 作    者：agent
+ * 功能描述：响应式redis操作工具，基于ReactiveRedisTemplate
+ * 与RedisUtils对应，返回Mono/Flux，等待redis响应时不占用线程；
+ * String类型使用ReactiveStringRedisTemplate，hash的值与RedisUtils一样经json序列化（见RedisConfig）；
+ * 写入、删除同样会通知近缓存失效，读取不经过近缓存
+ **************************************************************/
+@Component
+public class ReactiveRedisUtils {
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    @Autowired
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    @Autowired
+    private RedisNearCache nearCache;
+
+    /** 批量操作每次提交的key数量 */
+    @Value("${redis.batch-size:500}")
+    private int batchSize;
+    /** 批量操作同时发出的命令数 */
+    @Value("${redis.reactive.concurrency:64}")
+    private int concurrency;
+    /** SCAN每次返回的key数量(COUNT) */
+    @Value("${redis.scan.count:1000}")
+    private long scanCount;
+    /** 按模式批量处理时，每批之前暂停的时间(毫秒)，避免长时间占满redis */
+    @Value("${redis.scan.pause-millis:10}")
+    private long scanPauseMillis;
+
+    // =============================common============================
+
+    /**
+     * 指定缓存过期时间
+     * @param key 键
+     * @param time 时间(秒)
+     * @return true 成功 false key不存在
+     */
+    public Mono<Boolean> expire(String key, long time){
+        if (time <= 0) {
+            return Mono.just(true);
+        }
+        return invalidate(reactiveStringRedisTemplate.expire(key, Duration.ofSeconds(time)), Collections.singletonList(key));
+    }
+
+    /**
+     * 根据key获取缓存过期时间
+     * @param key 键
+     * @return 时间(秒) 返回0代表为永久有效
+     */
+    public Mono<Long> getExpire(String key){
+        return reactiveStringRedisTemplate.getExpire(key).map(Duration::getSeconds);
+    }
+
+    /**
+     * 判断key是否存在
+     * @param key 键
+     * @return true 存在 false不存在
+     */
+    public Mono<Boolean> hasKey(String key){
+        return reactiveStringRedisTemplate.hasKey(key);
+    }
+
+    /**
+     * 删除缓存
+     * @param keys 键 可以是多个
+     * @return 删除的个数
+     */
+    public Mono<Long> del(String... keys){
+        return invalidate(reactiveStringRedisTemplate.delete(keys), Arrays.asList(keys));
+    }
+
+    // =============================String============================
+
+    /**
+     * 普通缓存获取
+     * @param key 键
+     * @return 值，不存在时为空
+     */
+    public Mono<String> get(String key){
+        return key == null ? Mono.empty() : reactiveStringRedisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * 普通缓存放入
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     * @return true成功 false失败
+     */
+    public Mono<Boolean> set(String key, String value, long time){
+        Mono<Boolean> result = time > 0
+                ? reactiveStringRedisTemplate.opsForValue().set(key, value, Duration.ofSeconds(time))
+                : reactiveStringRedisTemplate.opsForValue().set(key, value);
+        return invalidate(result, Collections.singletonList(key));
+    }
+
+    /**
+     * 递增
+     * @param key 键
+     * @param delta 要增加几(大于0)
+     * @return
+     */
+    public Mono<Long> inrc(String key, long delta){
+        if(delta < 0){
+            return Mono.error(new RuntimeException("递增因子必须大于0"));
+        }
+        return invalidate(reactiveStringRedisTemplate.opsForValue().increment(key, delta), Collections.singletonList(key));
+    }
+
+    /**
+     * 递减
+     * @param key 键
+     * @param delta 要减少几(大于0)
+     * @return
+     */
+    public Mono<Long> decr(String key, long delta){
+        if(delta < 0){
+            return Mono.error(new RuntimeException("递减因子必须大于0"));
+        }
+        return invalidate(reactiveStringRedisTemplate.opsForValue().decrement(key, delta), Collections.singletonList(key));
+    }
+
+    // =============================batch============================
+
+    /**
+     * 批量获取，每batch-size个key一条MGET，各批并发发出
+     * @param keys 键
+     * @return 值，与keys顺序一致，不存在的key对应null
+     */
+    public Mono<List<String>> multiGet(List<String> keys){
+        return Flux.fromIterable(partition(keys))
+                .flatMapSequential(chunk -> reactiveStringRedisTemplate.opsForValue().multiGet(chunk), concurrency)
+                .collect(() -> new ArrayList<String>(keys.size()), List::addAll);
+    }
+
+    /**
+     * 批量放入，每个key一条SET EX，命令并发发出，共用一个连接时自动合并写出
+     * @param map 键值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     * @return true全部成功 false有失败
+     */
+    public Mono<Boolean> multiSet(Map<String, String> map, long time){
+        Mono<Boolean> result = Flux.fromIterable(map.entrySet())
+                .flatMap(entry -> time > 0
+                        ? reactiveStringRedisTemplate.opsForValue().set(entry.getKey(), entry.getValue(), Duration.ofSeconds(time))
+                        : reactiveStringRedisTemplate.opsForValue().set(entry.getKey(), entry.getValue()), concurrency)
+                .all(Boolean.TRUE::equals);
+        return invalidate(result, map.keySet());
+    }
+
+    /**
+     * 批量设置过期时间
+     * @param keys 键
+     * @param time 时间(秒) 要大于0，小于等于0时不做任何操作（EXPIRE传入非正数会删除key）
+     * @return 是否设置成功，与keys顺序一致，key不存在或time小于等于0时为false
+     */
+    public Mono<List<Boolean>> expire(List<String> keys, long time){
+        if (time <= 0) {
+            return Mono.just(new ArrayList<>(Collections.nCopies(keys.size(), false)));
+        }
+        Mono<List<Boolean>> result = Flux.fromIterable(keys)
+                .flatMapSequential(key -> reactiveStringRedisTemplate.expire(key, Duration.ofSeconds(time)), concurrency)
+                .collectList();
+        return invalidate(result, keys);
+    }
+
+    /**
+     * 批量判断key是否存在
+     * @param keys 键
+     * @return 是否存在，与keys顺序一致
+     */
+    public Mono<List<Boolean>> hasKeys(List<String> keys){
+        return Flux.fromIterable(keys)
+                .flatMapSequential(reactiveStringRedisTemplate::hasKey, concurrency)
+                .collectList();
+    }
+
+    // =============================keyspace============================
+
+    /**
+     * 按模式遍历key，SCAN游标分批获取，不会像KEYS一样阻塞redis
+     * 按需拉取，下游消费慢时不会继续SCAN；可能返回重复的key
+     * @param pattern 模式，例如 user:*
+     * @param count 每次返回的数量(提示值)
+     * @return
+     */
+    public Flux<String> scan(String pattern, long count){
+        return reactiveStringRedisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(count).build());
+    }
+
+    /**
+     * 按模式删除，每batch-size个key一条UNLINK，逐批执行，每批之前暂停scan.pause-millis毫秒
+     * @param pattern 模式，例如 user:*
+     * @return 删除的个数
+     */
+    public Mono<Long> unlinkByPattern(String pattern){
+        return scanBatches(pattern, batch ->
+                invalidate(reactiveStringRedisTemplate.unlink(batch.toArray(new String[0])), batch));
+    }
+
+    /**
+     * 按模式批量设置过期时间，逐批执行，每批之前暂停scan.pause-millis毫秒
+     * @param pattern 模式，例如 user:*
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     * @return 设置成功的个数
+     */
+    public Mono<Long> expireByPattern(String pattern, long time){
+        return scanBatches(pattern, batch -> invalidate(Flux.fromIterable(batch)
+                .flatMap(key -> time > 0
+                        ? reactiveStringRedisTemplate.expire(key, Duration.ofSeconds(time))
+                        : reactiveStringRedisTemplate.persist(key), concurrency)
+                .filter(Boolean.TRUE::equals)
+                .count(), batch));
+    }
+
+    /**
+     * 按模式遍历，每batch-size个key处理一次，上一批完成后才处理下一批
+     * @param pattern 模式
+     * @param command 对每批key执行的命令，返回处理成功的个数
+     * @return 处理成功的总数
+     */
+    private Mono<Long> scanBatches(String pattern, Function<List<String>, Mono<Long>> command){
+        return scan(pattern, scanCount)
+                .buffer(batchSize)
+                .concatMap(batch -> scanPauseMillis > 0
+                        ? Mono.delay(Duration.ofMillis(scanPauseMillis)).then(command.apply(batch))
+                        : command.apply(batch))
+                .reduce(0L, Long::sum);
+    }
+
+    // =============================Map============================
+
+    /**
+     * HashGet
+     * @param key 键 不能为null
+     * @param item 项 不能为null
+     * @return 值
+     */
+    public Mono<Object> hget(String key, String item){
+        return reactiveRedisTemplate.<String, Object>opsForHash().get(key, item);
+    }
+
+    /**
+     * 获取hashKey对应的所有键值
+     * @param key 键
+     * @return 对应的多个键值
+     */
+    public Mono<Map<String, Object>> hmget(String key){
+        return reactiveRedisTemplate.<String, Object>opsForHash().entries(key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * HashSet 并设置时间
+     * @param key 键
+     * @param map 对应多个键值
+     * @param time 时间(秒)
+     * @return true成功 false失败
+     */
+    public Mono<Boolean> hmset(String key, Map<String, Object> map, long time){
+        Mono<Boolean> result = reactiveRedisTemplate.<String, Object>opsForHash().putAll(key, map);
+        return time > 0 ? result.flatMap(ok -> reactiveRedisTemplate.expire(key, Duration.ofSeconds(time))) : result;
+    }
+
+    /**
+     * 完成后通知近缓存失效
+     * @param result 写入结果
+     * @param keys 写入的键
+     * @param <R>
+     * @return
+     */
+    private <R> Mono<R> invalidate(Mono<R> result, Collection<String> keys){
+        return result.flatMap(value -> {
+            List<String> accepted = nearCache.evictLocal(keys);
+            if (accepted.isEmpty()) {
+                return Mono.just(value);
+            }
+            return reactiveStringRedisTemplate.convertAndSend(RedisNearCache.CHANNEL, String.join("\n", accepted))
+                    .thenReturn(value);
+        });
+    }
+
+    /**
+     * 按batch-size分批
+     * @param keys 键
+     * @return
+     */
+    private List<List<String>> partition(List<String> keys){
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            chunks.add(keys.subList(i, Math.min(i + batchSize, keys.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,182 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import com.springboot.framework.build.example.utils.redis.RedisNearCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**************************************************************
+ * 创建日期：2026/10/18 20:10
+ * 作    者：agent
+ * 功能描述：redis计数器聚合
+ * 递增只累加到本地LongAdder，不访问redis；
+ * 每flush-interval-millis毫秒，或本地累计的递增次数达到flush-threshold时，
+ * 把各key的增量用管道INCRBY写入redis，写入成功后才从本地扣除；写入失败的增量留在本地，下次重试
+ * （管道执行到一半断开时，已执行的部分可能重复计入，计数偏多不偏少）；
+ * 读取时合并redis中的值和本地未写入的增量，写入进行中读到的值同样偏多不偏少；
+ * 正常停机时写入剩余增量，停机后的递增直接写入redis，不会丢失计数
+ * 适用于浏览量、配额等高频递增的计数器，本地key不会被移除，key的数量应是有限的
+ **************************************************************/
+@Component
+public class RedisCounterUtils {
+
+    /** 写入间隔(毫秒) */
+    @Value("${redis.counter.flush-interval-millis:1000}")
+    private long flushIntervalMillis;
+    /** 累计递增次数达到该值时立即写入 */
+    @Value("${redis.counter.flush-threshold:10000}")
+    private long flushThreshold;
+    /** 每个管道的命令数 */
+    @Value("${redis.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisNearCache nearCache;
+    @Autowired
+    private RedisErrorLogger errorLogger;
+
+    /** 各key未写入的增量 */
+    private final ConcurrentMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    /** 上次写入后的递增次数 */
+    private final LongAdder pendingOps = new LongAdder();
+    /** 是否已提交提前写入 */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        // 停机前写入剩余增量
+        flush();
+    }
+
+    /**
+     * 递增
+     * @param key 键
+     * @param delta 要增加几(大于0)
+     */
+    public void inrc(String key, long delta) {
+        if (delta < 0) {
+            throw new RuntimeException("递增因子必须大于0");
+        }
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        pendingOps.increment();
+        // 停机后不再定时写入，直接写入redis
+        if (scheduler.isShutdown()) {
+            flushQuietly();
+            return;
+        }
+        // 达到阈值时提前写入，只提交一次
+        if (pendingOps.sum() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // 检查之后停机
+                flushQuietly();
+            }
+        }
+    }
+
+    /**
+     * 获取计数，redis中的值加上本地未写入的增量
+     * @param key 键
+     * @return
+     */
+    public long get(String key) {
+        // 先读redis再读本地：增量在写入redis之后才从本地扣除，不会两边都读不到
+        String value = redisTemplate.opsForValue().get(key);
+        LongAdder adder = pending.get(key);
+        long local = adder == null ? 0 : adder.sum();
+        return (value == null ? 0 : Long.parseLong(value)) + local;
+    }
+
+    /**
+     * 本地未写入的增量
+     * @param key 键
+     * @return
+     */
+    public long getPending(String key) {
+        LongAdder adder = pending.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * 写入所有增量
+     * 先取增量的快照，写入redis成功后再从LongAdder中减去快照，并发的递增不会丢失；
+     * 写入失败时本地增量不变，下次重试
+     */
+    public synchronized void flush() {
+
+        flushScheduled.set(false);
+        pendingOps.reset();
+
+        List<String> keys = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<LongAdder> adders = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta != 0) {
+                adders.add(entry.getValue());
+                keys.add(entry.getKey());
+                deltas.add(delta);
+            }
+        }
+
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, keys.size());
+            List<String> chunkKeys = keys.subList(from, to);
+            List<Long> chunkDeltas = deltas.subList(from, to);
+            // 失败时直接抛出，本批及之后的增量仍在本地
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (int i = 0; i < chunkKeys.size(); i++) {
+                        ops.opsForValue().increment(chunkKeys.get(i), chunkDeltas.get(i));
+                    }
+                    return null;
+                }
+            });
+            for (int i = from; i < to; i++) {
+                adders.get(i).add(-deltas.get(i));
+            }
+            nearCache.invalidate(chunkKeys);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            errorLogger.log("counterFlush", e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**************************************************************
+ * 创建日期：2026/10/18 19:50
+ * 作    者：agent
+ * 功能描述：redis分布式锁
+ * 加锁：SET NX PX，值为本次加锁的随机id，持有者宕机后锁到期自动释放；
+ * 释放：lua脚本比较id后删除，不会误删别人的锁；
+ * 续期：持有期间看门狗每1/3租期续期一次，任务执行时间不受租期限制；
+ * 防护令牌：每次加锁成功返回单调递增的fencing token，
+ * 写入数据时带上token，存储端拒绝比已见过的token小的写入，避免锁过期后旧持有者的写入覆盖新数据；
+ * 监控指标：redis.lock.requests/acquired/timeouts/contentions/lost（计数）、redis.lock.held（当前持有数）、
+ * redis.lock.wait（加锁等待耗时，按result=acquired/timeout区分）
+ * 用法：
+ * try (RedisLockUtils.Lock lock = redisLockUtils.tryLock("job:daily", 3000)) {
+ *     if (lock == null) { return; }
+ *     doJob(lock.getFencingToken());
+ * }
+ **************************************************************/
+@Component
+public class RedisLockUtils {
+
+    /**
+     * 加锁并生成防护令牌
+     * KEYS[1] 锁  KEYS[2] 令牌计数器  ARGV[1] 加锁id  ARGV[2] 租期(毫秒)
+     * 成功返回令牌，失败返回0
+     */
+    private static final RedisScript<Long> LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+            "return redis.call('INCR', KEYS[2]) end " +
+            "return 0",
+            Long.class);
+    /** id一致时删除 */
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+    /** id一致时续期 */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return 0",
+            Long.class);
+
+    /** 等待锁时的最长轮询间隔(毫秒) */
+    private static final long MAX_POLL_MILLIS = 100;
+
+    /** 租期(毫秒) */
+    @Value("${redis.lock.lease-millis:30000}")
+    private long leaseMillis;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisErrorLogger errorLogger;
+    @Autowired
+    private ObjectProvider<MeterRegistry> registryProvider;
+
+    /** 看门狗 */
+    private ScheduledExecutorService watchdog;
+    /** 当前进程持有的锁 */
+    private final Set<Lock> heldLocks = ConcurrentHashMap.newKeySet();
+
+    /** 加锁请求次数 */
+    private final LongAdder requests = new LongAdder();
+    /** 加锁成功次数 */
+    private final LongAdder acquired = new LongAdder();
+    /** 等待超时次数 */
+    private final LongAdder timeouts = new LongAdder();
+    /** 因锁被占用而重试的次数 */
+    private final LongAdder contentions = new LongAdder();
+    /** 续期失败（锁已丢失）次数 */
+    private final LongAdder lost = new LongAdder();
+    /** 加锁成功的累计耗时(纳秒) */
+    private final LongAdder acquireNanos = new LongAdder();
+    /** 加锁成功、超时的等待耗时，没有MeterRegistry时为null */
+    private Timer acquiredTimer;
+    private Timer timeoutTimer;
+
+    @PostConstruct
+    public void init() {
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, leaseMillis / 3);
+        watchdog.scheduleAtFixedRate(this::renewAll, period, period, TimeUnit.MILLISECONDS);
+
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry != null) {
+            bindMetrics(registry);
+        }
+    }
+
+    /**
+     * 发布加锁统计
+     * @param registry
+     */
+    private void bindMetrics(MeterRegistry registry) {
+        counter(registry, "redis.lock.requests", "加锁请求次数", requests);
+        counter(registry, "redis.lock.acquired", "加锁成功次数", acquired);
+        counter(registry, "redis.lock.timeouts", "加锁等待超时次数", timeouts);
+        counter(registry, "redis.lock.contentions", "锁被占用而重试的次数", contentions);
+        counter(registry, "redis.lock.lost", "续期失败（锁已丢失）次数", lost);
+        Gauge.builder("redis.lock.held", heldLocks, Set::size)
+                .description("当前进程持有的锁数")
+                .register(registry);
+        acquiredTimer = Timer.builder("redis.lock.wait")
+                .description("加锁等待耗时")
+                .tag("result", "acquired")
+                .publishPercentileHistogram()
+                .register(registry);
+        timeoutTimer = Timer.builder("redis.lock.wait")
+                .description("加锁等待耗时")
+                .tag("result", "timeout")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::doubleValue)
+                .description(description)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        watchdog.shutdownNow();
+        // 正常停机时释放持有的锁
+        for (Lock lock : heldLocks) {
+            lock.close();
+        }
+    }
+
+    /**
+     * 尝试加锁，不等待
+     * @param name 锁名称
+     * @return 成功返回锁，失败返回null
+     */
+    public Lock tryLock(String name) {
+        return tryLock(name, 0);
+    }
+
+    /**
+     * 尝试加锁，在waitMillis内重试
+     * @param name 锁名称
+     * @param waitMillis 最长等待时间(毫秒)
+     * @return 成功返回锁，超时返回null
+     */
+    public Lock tryLock(String name, long waitMillis) {
+
+        requests.increment();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        // 同一个key的锁和令牌计数器在同一个slot，兼容集群
+        String key = "lock:{" + name + "}";
+        String fenceKey = key + ":fence";
+        String id = UUID.randomUUID().toString();
+        long pollMillis = 10;
+
+        while (true) {
+            Long token = redisTemplate.execute(LOCK_SCRIPT, Arrays.asList(key, fenceKey), id, String.valueOf(leaseMillis));
+            if (token != null && token > 0) {
+                long elapsed = System.nanoTime() - start;
+                acquired.increment();
+                acquireNanos.add(elapsed);
+                record(acquiredTimer, elapsed);
+                Lock lock = new Lock(name, key, id, token);
+                heldLocks.add(lock);
+                return lock;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                timeouts.increment();
+                record(timeoutTimer, System.nanoTime() - start);
+                return null;
+            }
+            contentions.increment();
+            try {
+                Thread.sleep(Math.min(pollMillis, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timeouts.increment();
+                record(timeoutTimer, System.nanoTime() - start);
+                return null;
+            }
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 加锁统计，与redis.lock.*指标一致
+     * @return requests：加锁请求次数；acquired：成功次数；timeouts：超时次数；
+     *         contentions：锁被占用的重试次数；lost：续期失败次数；held：当前持有数；
+     *         avgAcquireMillis：成功加锁的平均耗时(毫秒)
+     */
+    public ConcurrentMap<String, Number> getStats() {
+        ConcurrentMap<String, Number> stats = new ConcurrentHashMap<>();
+        long acquiredCount = acquired.sum();
+        stats.put("requests", requests.sum());
+        stats.put("acquired", acquiredCount);
+        stats.put("timeouts", timeouts.sum());
+        stats.put("contentions", contentions.sum());
+        stats.put("lost", lost.sum());
+        stats.put("held", heldLocks.size());
+        stats.put("avgAcquireMillis", acquiredCount == 0 ? 0 : acquireNanos.sum() / 1e6 / acquiredCount);
+        return stats;
+    }
+
+    /**
+     * 续期所有持有的锁
+     */
+    private void renewAll() {
+        for (Lock lock : heldLocks) {
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(lock.key), lock.id, String.valueOf(leaseMillis));
+                if (renewed == null || renewed == 0) {
+                    // 锁已过期或被删除
+                    lock.lost = true;
+                    heldLocks.remove(lock);
+                    lost.increment();
+                }
+            } catch (Exception e) {
+                // 网络异常时下次再试，租期内仍然有效
+                errorLogger.log("lockRenew", e);
+            }
+        }
+    }
+
+    /**
+     * 持有的锁，close()释放
+     */
+    public class Lock implements AutoCloseable {
+
+        /** 锁名称 */
+        private final String name;
+        /** redis中的key */
+        private final String key;
+        /** 加锁id */
+        private final String id;
+        /** 防护令牌 */
+        private final long fencingToken;
+        /** 是否已丢失（续期失败） */
+        private volatile boolean lost;
+
+        Lock(String name, String key, String id, long fencingToken) {
+            this.name = name;
+            this.key = key;
+            this.id = id;
+            this.fencingToken = fencingToken;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 防护令牌，单调递增
+         */
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        /**
+         * 是否仍然持有，续期失败后为false
+         */
+        public boolean isHeld() {
+            return !lost && heldLocks.contains(this);
+        }
+
+        /**
+         * 释放锁，可以重复调用
+         */
+        @Override
+        public void close() {
+            if (heldLocks.remove(this)) {
+                redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(key), id);
+            }
+        }
+    }
+}
@@ -1,22 +1,56 @@
 package com.springboot.framework.build.example.utils;
 
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import com.springboot.framework.build.example.utils.redis.RedisNearCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**************************************************************
  * 创建日期：2019/12/15 11:08
  * 作    者：lixuhong
  * 功能描述：redis操作工具，基于RedisTemplate
+ * String类型的值直接存放字符串；hash/set/list/zset的值经RedisConfig中的json序列化存放
+ * 开启redis.near-cache.enabled后，get优先读取本地近缓存，写入、删除时通知所有节点失效
  **************************************************************/
 @Component
 public class RedisUtils {
 
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisNearCache nearCache;
+    @Autowired
+    private RedisErrorLogger errorLogger;
+    /** hash/set/list/zset使用json序列化的模板，见RedisConfig */
+    @Autowired
+    private RedisTemplate<String, Object> objectRedisTemplate;
+    @Autowired
+    private HashOperations<String, String, Object> hashOperations;
+    @Autowired
+    private SetOperations<String, Object> setOperations;
+    @Autowired
+    private ListOperations<String, Object> listOperations;
+    @Autowired
+    private ZSetOperations<String, Object> zSetOperations;
+
+    /** 批量操作每次提交的key数量 */
+    @Value("${redis.batch-size:500}")
+    private int batchSize;
+    /** SCAN每次返回的key数量(COUNT) */
+    @Value("${redis.scan.count:1000}")
+    private long scanCount;
+    /** 按模式批量处理时，每批之间暂停的时间(毫秒)，避免长时间占满redis */
+    @Value("${redis.scan.pause-millis:10}")
+    private long scanPauseMillis;
 
     // =============================common============================
 
@@ -30,10 +64,11 @@ public class RedisUtils {
         try{
             if(time > 0) {
                 redisTemplate.expire(key, time, TimeUnit.SECONDS);
+                nearCache.invalidate(Collections.singletonList(key));
             }
             return true;
         }catch (Exception e){
-            e.printStackTrace();
+            errorLogger.log("expire", e);
             return false;
         }
     }
@@ -56,7 +91,7 @@ public class RedisUtils {
         try{
             return redisTemplate.hasKey(key);
         }catch (Exception e){
-            e.printStackTrace();
+            errorLogger.log("hasKey", e);
             return false;
         }
     }
@@ -69,6 +104,7 @@ public class RedisUtils {
     @SuppressWarnings("unchecked")
     public void del(String key){
         redisTemplate.delete(key);
+        nearCache.invalidate(Collections.singletonList(key));
     }
 
     /**
@@ -79,6 +115,7 @@ public class RedisUtils {
     @SuppressWarnings("unchecked")
     public void del(List key){
         redisTemplate.delete(key);
+        nearCache.invalidate(key);
     }
 
 
@@ -90,7 +127,10 @@ public class RedisUtils {
      * @return 值
      */
     public String get(String key){
-        return key == null ? null : redisTemplate.opsForValue().get(key);
+        if (key == null) {
+            return null;
+        }
+        return nearCache.accept(key) ? nearCache.get(key) : redisTemplate.opsForValue().get(key);
     }
 
     /**
@@ -102,9 +142,10 @@ public class RedisUtils {
     public boolean set(String key, String value){
         try{
             redisTemplate.opsForValue().set(key, value);
+            nearCache.invalidate(Collections.singletonList(key));
             return true;
         }catch (Exception e){
-            e.printStackTrace();
+            errorLogger.log("set", e);
             return false;
         }
     }
@@ -120,12 +161,13 @@ public class RedisUtils {
         try{
             if(time > 0) {
                 redisTemplate.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+                nearCache.invalidate(Collections.singletonList(key));
             } else{
                 set(key, value);
             }
             return true;
         }catch (Exception e){
-            e.printStackTrace();
+            errorLogger.log("set", e);
             return false;
         }
     }
@@ -140,7 +182,9 @@ public class RedisUtils {
         if(delta < 0){
             throw new RuntimeException("递增因子必须大于0");
         }
-        return redisTemplate.opsForValue().increment(key, delta);
+        long value = redisTemplate.opsForValue().increment(key, delta);
+        nearCache.invalidate(Collections.singletonList(key));
+        return value;
     }
 
     /**
@@ -153,368 +197,812 @@ public class RedisUtils {
         if(delta < 0){
             throw new RuntimeException("递增因子必须大于0");
         }
-        return redisTemplate.opsForValue().increment(key, -delta);
+        long value = redisTemplate.opsForValue().increment(key, -delta);
+        nearCache.invalidate(Collections.singletonList(key));
+        return value;
+    }
+
+    // =============================batch============================
+
+    /**
+     * 批量获取，每batch-size个key一条MGET
+     * @param keys 键
+     * @return 值，与keys顺序一致，不存在的key对应null
+     */
+    public List<String> multiGet(List<String> keys){
+        List<String> values = new ArrayList<>(keys.size());
+        for (List<String> chunk : partition(keys)) {
+            List<String> chunkValues = redisTemplate.opsForValue().multiGet(chunk);
+            values.addAll(chunkValues == null ? Collections.nCopies(chunk.size(), null) : chunkValues);
+        }
+        return values;
+    }
+
+    /**
+     * 批量放入，每个key一条SET EX，管道提交
+     * @param map 键值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean multiSet(Map<String, String> map, long time){
+        return multiSet(map, key -> time);
+    }
+
+    /**
+     * 批量放入，每个key单独的过期时间，管道提交
+     * @param map 键值
+     * @param times 每个key的过期时间(秒)，没有或小于等于0的key将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean multiSet(Map<String, String> map, Map<String, Long> times){
+        return multiSet(map, key -> times.getOrDefault(key, 0L));
+    }
+
+    /**
+     * 批量设置过期时间，管道提交
+     * @param keys 键
+     * @param time 时间(秒) 要大于0，小于等于0时不做任何操作（EXPIRE传入非正数会删除key）
+     * @return 是否设置成功，与keys顺序一致，key不存在或time小于等于0时为false
+     */
+    public List<Boolean> expire(List<String> keys, long time){
+        if (time <= 0) {
+            return new ArrayList<>(Collections.nCopies(keys.size(), false));
+        }
+        List<Boolean> results = toBooleans(pipelined(keys, (ops, key) -> ops.expire(key, time, TimeUnit.SECONDS)));
+        nearCache.invalidate(keys);
+        return results;
+    }
+
+    /**
+     * 批量判断key是否存在，管道提交
+     * @param keys 键
+     * @return 是否存在，与keys顺序一致
+     */
+    public List<Boolean> hasKeys(List<String> keys){
+        return toBooleans(pipelined(keys, RedisOperations::hasKey));
+    }
+
+    /**
+     * 批量放入
+     * @param map 键值
+     * @param timeOf 每个key的过期时间(秒)
+     * @return true成功 false失败
+     */
+    private boolean multiSet(Map<String, String> map, ToLongFunction<String> timeOf){
+        try{
+            pipelined(new ArrayList<>(map.keySet()), (ops, key) -> {
+                long time = timeOf.applyAsLong(key);
+                if (time > 0) {
+                    ops.opsForValue().set(key, map.get(key), time, TimeUnit.SECONDS);
+                } else {
+                    ops.opsForValue().set(key, map.get(key));
+                }
+            });
+            nearCache.invalidate(map.keySet());
+            return true;
+        }catch (Exception e){
+            errorLogger.log("multiSet", e);
+            return false;
+        }
+    }
+
+    /**
+     * 按batch-size分批管道执行，每批一次往返
+     * @param keys 键
+     * @param command 对每个key执行的命令
+     * @return 命令结果，与keys顺序一致
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> pipelined(List<String> keys, KeyCommand command){
+        List<Object> results = new ArrayList<>(keys.size());
+        for (List<String> chunk : partition(keys)) {
+            results.addAll(redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (String key : chunk) {
+                        command.execute(ops, key);
+                    }
+                    return null;
+                }
+            }));
+        }
+        return results;
+    }
+
+    /**
+     * 按batch-size分批
+     * @param keys 键
+     * @return
+     */
+    private List<List<String>> partition(List<String> keys){
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            chunks.add(keys.subList(i, Math.min(i + batchSize, keys.size())));
+        }
+        return chunks;
+    }
+
+    private static List<Boolean> toBooleans(List<Object> results){
+        List<Boolean> booleans = new ArrayList<>(results.size());
+        for (Object result : results) {
+            booleans.add(Boolean.TRUE.equals(result));
+        }
+        return booleans;
+    }
+
+    /**
+     * 管道中对单个key执行的命令
+     */
+    @FunctionalInterface
+    private interface KeyCommand {
+        void execute(RedisOperations<String, String> ops, String key);
+    }
+
+    // =============================keyspace============================
+
+    /**
+     * 按模式遍历key，SCAN游标分批获取，不会像KEYS一样阻塞redis
+     * 遍历期间占用一个连接，用完必须close：
+     * try (Cursor<String> cursor = redisUtils.scan("user:*", 1000)) { ... }
+     * SCAN可能返回重复的key，遍历期间新增的key不保证返回
+     * @param pattern 模式，例如 user:*
+     * @param count 每次返回的数量(提示值)
+     * @return 游标
+     */
+    @SuppressWarnings("unchecked")
+    public Cursor<String> scan(String pattern, long count){
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return redisTemplate.executeWithStickyConnection(
+                connection -> new ConvertingCursor<>(connection.scan(options), keySerializer::deserialize));
+    }
+
+    /**
+     * 按模式删除，每batch-size个key一条UNLINK（后台线程释放内存），每批之间暂停scan.pause-millis毫秒
+     * @param pattern 模式，例如 user:*
+     * @return 删除的个数
+     */
+    public long unlinkByPattern(String pattern){
+        return scanBatches(pattern, batch -> {
+            Long count = redisTemplate.unlink(batch);
+            nearCache.invalidate(batch);
+            return count == null ? 0 : count;
+        });
+    }
+
+    /**
+     * 按模式批量设置过期时间，每batch-size个key一次管道，每批之间暂停scan.pause-millis毫秒
+     * @param pattern 模式，例如 user:*
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     * @return 设置成功的个数
+     */
+    public long expireByPattern(String pattern, long time){
+        return scanBatches(pattern, batch -> {
+            List<Object> results = pipelined(batch, (ops, key) -> {
+                if (time > 0) {
+                    ops.expire(key, time, TimeUnit.SECONDS);
+                } else {
+                    ops.persist(key);
+                }
+            });
+            nearCache.invalidate(batch);
+            return results.stream().filter(Boolean.TRUE::equals).count();
+        });
+    }
+
+    /**
+     * 按模式遍历，每batch-size个key处理一次，处理后暂停，线程被中断时停止
+     * @param pattern 模式
+     * @param command 对每批key执行的命令，返回处理成功的个数
+     * @return 处理成功的总数
+     */
+    private long scanBatches(String pattern, ToLongFunction<List<String>> command){
+        long total = 0;
+        try (Cursor<String> cursor = scan(pattern, scanCount)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                total += command.applyAsLong(batch);
+                batch = new ArrayList<>(batchSize);
+                if (!pause()) {
+                    return total;
+                }
+            }
+            if (!batch.isEmpty()) {
+                total += command.applyAsLong(batch);
+            }
+        } catch (IOException e) {
+            errorLogger.log("scan", e);
+        }
+        return total;
+    }
+
+    /**
+     * 批次之间暂停
+     * @return false 线程被中断
+     */
+    private boolean pause(){
+        if (scanPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(scanPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     // =============================Map============================
 
-//    /**
-//     * HashGet
-//     * @param key 键 不能为null
-//     * @param item 项 不能为null
-//     * @return 值
-//     */
-//    public Object hget(String key, String item) {
-//        return redisTemplate.opsForHash().get(key, item);
-//    }
-//    /**
-//     * 获取hashKey对应的所有键值
-//     * @param key 键
-//     * @return 对应的多个键值
-//     */
-//    public Map<Object, Object> hmget(String key) {
-//        return redisTemplate.opsForHash().entries(key);
-//    }
-//    /**
-//     * HashSet
-//     * @param key 键
-//     * @param map 对应多个键值
-//     * @return true 成功 false 失败
-//     */
-//    public boolean hmset(String key, Map<String, Object> map) {
-//        try {
-//            redisTemplate.opsForHash().putAll(key, map);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * HashSet 并设置时间
-//     * @param key 键
-//     * @param map 对应多个键值
-//     * @param time 时间(秒)
-//     * @return true成功 false失败
-//     */
-//    public boolean hmset(String key, Map<String, Object> map, long time) {
-//        try {
-//            redisTemplate.opsForHash().putAll(key, map);
-//            if (time > 0) {
-//                expire(key, time);
-//            }
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 向一张hash表中放入数据,如果不存在将创建
-//     * @param key 键
-//     * @param item 项
-//     * @param value 值
-//     * @return true 成功 false失败
-//     */
-//    public boolean hset(String key, String item, Object value) {
-//        try {
-//            redisTemplate.opsForHash().put(key, item, value);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 向一张hash表中放入数据,如果不存在将创建
-//     * @param key 键
-//     * @param item 项
-//     * @param value 值
-//     * @param time 时间(秒) 注意:如果已存在的hash表有时间,这里将会替换原有的时间
-//     * @return true 成功 false失败
-//     */
-//    public boolean hset(String key, String item, Object value, long time) {
-//        try {
-//            redisTemplate.opsForHash().put(key, item, value);
-//            if (time > 0) {
-//                expire(key, time);
-//            }
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 删除hash表中的值
-//     * @param key 键 不能为null
-//     * @param item 项 可以使多个 不能为null
-//     */
-//    public void hdel(String key, Object... item) {
-//        redisTemplate.opsForHash().delete(key, item);
-//    }
-//    /**
-//     * 判断hash表中是否有该项的值
-//     * @param key 键 不能为null
-//     * @param item 项 不能为null
-//     * @return true 存在 false不存在
-//     */
-//    public boolean hHasKey(String key, String item) {
-//        return redisTemplate.opsForHash().hasKey(key, item);
-//    }
-//    /**
-//     * hash递增 如果不存在,就会创建一个 并把新增后的值返回
-//     * @param key 键
-//     * @param item 项
-//     * @param by 要增加几(大于0)
-//     * @return
-//     */
-//    public double hincr(String key, String item, double by) {
-//        return redisTemplate.opsForHash().increment(key, item, by);
-//    }
-//    /**
-//     * hash递减
-//     * @param key 键
-//     * @param item 项
-//     * @param by 要减少记(小于0)
-//     * @return
-//     */
-//    public double hdecr(String key, String item, double by) {
-//        return redisTemplate.opsForHash().increment(key, item, -by);
-//    }
-//    // ============================set=============================
-//    /**
-//     * 根据key获取Set中的所有值
-//     * @param key 键
-//     * @return
-//     */
-//    public Set sGet(String key) {
-//        try {
-//            return redisTemplate.opsForSet().members(key);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return null;
-//        }
-//    }
-//    /**
-//     * 根据value从一个set中查询,是否存在
-//     * @param key 键
-//     * @param value 值
-//     * @return true 存在 false不存在
-//     */
-//    public boolean sHasKey(String key, Object value) {
-//        try {
-//            return redisTemplate.opsForSet().isMember(key, value);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 将数据放入set缓存
-//     * @param key 键
-//     * @param values 值 可以是多个
-//     * @return 成功个数
-//     */
-//    public long sSet(String key, Object... values) {
-//        try {
-//            return redisTemplate.opsForSet().add(key, values);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
-//    /**
-//     * 将set数据放入缓存
-//     * @param key 键
-//     * @param time 时间(秒)
-//     * @param values 值 可以是多个
-//     * @return 成功个数
-//     */
-//    public long sSetAndTime(String key, long time, Object... values) {
-//        try {
-//            Long count = redisTemplate.opsForSet().add(key, values);
-//            if (time > 0) {
-//                expire(key, time);
-//            }
-//            return count;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
-//    /**
-//     * 获取set缓存的长度
-//     * @param key 键
-//     * @return
-//     */
-//    public long sGetSetSize(String key) {
-//        try {
-//            return redisTemplate.opsForSet().size(key);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
-//    /**
-//     * 移除值为value的
-//     * @param key 键
-//     * @param values 值 可以是多个
-//     * @return 移除的个数
-//     */
-//    public long setRemove(String key, Object... values) {
-//        try {
-//            Long count = redisTemplate.opsForSet().remove(key, values);
-//            return count;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
-//    // ===============================list=================================
-//    /**
-//     * 获取list缓存的内容
-//     * @param key 键
-//     * @param start 开始
-//     * @param end 结束 0 到 -1代表所有值
-//     * @return
-//     */
-//    public List<Object> lGet(String key, long start, long end) {
-//        try {
-//            return redisTemplate.opsForList().range(key, start, end);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return null;
-//        }
-//    }
-//    /**
-//     * 获取list缓存的长度
-//     * @param key 键
-//     * @return
-//     */
-//    public long lGetListSize(String key) {
-//        try {
-//            return redisTemplate.opsForList().size(key);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
-//    /**
-//     * 通过索引 获取list中的值
-//     * @param key 键
-//     * @param index 索引 index>=0时， 0 表头，1 第二个元素，依次类推；index<0时，-1，表尾，-2倒数第二个元素，依次类推
-//     * @return
-//     */
-//    public Object lGetIndex(String key, long index) {
-//        try {
-//            return redisTemplate.opsForList().index(key, index);
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return null;
-//        }
-//    }
-//    /**
-//     * 将list放入缓存
-//     * @param key 键
-//     * @param value 值
-//     * @return
-//     */
-//    public boolean lSet(String key, Object value) {
-//        try {
-//            redisTemplate.opsForList().rightPush(key, value);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 将list放入缓存
-//     * @param key 键
-//     * @param value 值
-//     * @param time 时间(秒)
-//     * @return
-//     */
-//    public boolean lSet(String key, Object value, long time) {
-//        try {
-//            redisTemplate.opsForList().rightPush(key, value);
-//            if (time > 0)
-//                expire(key, time);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 将list放入缓存
-//     * @param key 键
-//     * @param value 值
-//     * @return
-//     */
-//    public boolean lSet(String key, List<Object> value) {
-//        try {
-//            redisTemplate.opsForList().rightPushAll(key, value);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 将list放入缓存
-//     *
-//     * @param key 键
-//     * @param value 值
-//     * @param time 时间(秒)
-//     * @return
-//     */
-//    public boolean lSet(String key, List<Object> value, long time) {
-//        try {
-//            redisTemplate.opsForList().rightPushAll(key, value);
-//            if (time > 0) {
-//                expire(key, time);
-//            }
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 根据索引修改list中的某条数据
-//     * @param key 键
-//     * @param index 索引
-//     * @param value 值
-//     * @return
-//     */
-//    public boolean lUpdateIndex(String key, long index, Object value) {
-//        try {
-//            redisTemplate.opsForList().set(key, index, value);
-//            return true;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//    }
-//    /**
-//     * 移除N个值为value
-//     * @param key 键
-//     * @param count 移除多少个
-//     * @param value 值
-//     * @return 移除的个数
-//     */
-//    public long lRemove(String key, long count, Object value) {
-//        try {
-//            Long remove = redisTemplate.opsForList().remove(key, count, value);
-//            return remove;
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return 0;
-//        }
-//    }
+    /**
+     * HashGet
+     * @param key 键 不能为null
+     * @param item 项 不能为null
+     * @return 值
+     */
+    public Object hget(String key, String item) {
+        return hashOperations.get(key, item);
+    }
+    /**
+     * 获取hashKey对应的所有键值
+     * @param key 键
+     * @return 对应的多个键值
+     */
+    public Map<String, Object> hmget(String key) {
+        return hashOperations.entries(key);
+    }
+    /**
+     * HashSet
+     * @param key 键
+     * @param map 对应多个键值
+     * @return true 成功 false 失败
+     */
+    public boolean hmset(String key, Map<String, Object> map) {
+        return hmset(key, map, 0);
+    }
+    /**
+     * HashSet 并设置时间
+     * 字段按batch-size分为多条HMSET，与EXPIRE一起管道提交
+     * @param key 键
+     * @param map 对应多个键值
+     * @param time 时间(秒)
+     * @return true成功 false失败
+     */
+    public boolean hmset(String key, Map<String, Object> map, long time) {
+        try {
+            List<Map<String, Object>> chunks = chunks(map);
+            executePipelined(ops -> {
+                for (Map<String, Object> chunk : chunks) {
+                    ops.opsForHash().putAll(key, chunk);
+                }
+                if (time > 0) {
+                    ops.expire(key, time, TimeUnit.SECONDS);
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("hmset", e);
+            return false;
+        }
+    }
+    /**
+     * 向一张hash表中放入数据,如果不存在将创建
+     * @param key 键
+     * @param item 项
+     * @param value 值
+     * @return true 成功 false失败
+     */
+    public boolean hset(String key, String item, Object value) {
+        try {
+            hashOperations.put(key, item, value);
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("hset", e);
+            return false;
+        }
+    }
+    /**
+     * 向一张hash表中放入数据,如果不存在将创建
+     * @param key 键
+     * @param item 项
+     * @param value 值
+     * @param time 时间(秒) 注意:如果已存在的hash表有时间,这里将会替换原有的时间
+     * @return true 成功 false失败
+     */
+    public boolean hset(String key, String item, Object value, long time) {
+        try {
+            hashOperations.put(key, item, value);
+            if (time > 0) {
+                expire(key, time);
+            }
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("hset", e);
+            return false;
+        }
+    }
+    /**
+     * 删除hash表中的值
+     * @param key 键 不能为null
+     * @param item 项 可以使多个 不能为null
+     */
+    public void hdel(String key, Object... item) {
+        hashOperations.delete(key, item);
+    }
+    /**
+     * 判断hash表中是否有该项的值
+     * @param key 键 不能为null
+     * @param item 项 不能为null
+     * @return true 存在 false不存在
+     */
+    public boolean hHasKey(String key, String item) {
+        return hashOperations.hasKey(key, item);
+    }
+    /**
+     * hash递增 如果不存在,就会创建一个 并把新增后的值返回
+     * @param key 键
+     * @param item 项
+     * @param by 要增加几(大于0)
+     * @return
+     */
+    public double hincr(String key, String item, double by) {
+        return hashOperations.increment(key, item, by);
+    }
+    /**
+     * hash递减
+     * @param key 键
+     * @param item 项
+     * @param by 要减少记(小于0)
+     * @return
+     */
+    public double hdecr(String key, String item, double by) {
+        return hashOperations.increment(key, item, -by);
+    }
 
+    // ============================set=============================
+    /**
+     * 根据key获取Set中的所有值
+     * @param key 键
+     * @return
+     */
+    public Set<Object> sGet(String key) {
+        try {
+            return setOperations.members(key);
+        } catch (Exception e) {
+            errorLogger.log("sGet", e);
+            return null;
+        }
+    }
+    /**
+     * 根据value从一个set中查询,是否存在
+     * @param key 键
+     * @param value 值
+     * @return true 存在 false不存在
+     */
+    public boolean sHasKey(String key, Object value) {
+        try {
+            return setOperations.isMember(key, value);
+        } catch (Exception e) {
+            errorLogger.log("sHasKey", e);
+            return false;
+        }
+    }
+    /**
+     * 将数据放入set缓存
+     * @param key 键
+     * @param values 值 可以是多个
+     * @return 成功个数
+     */
+    public long sSet(String key, Object... values) {
+        try {
+            return setOperations.add(key, values);
+        } catch (Exception e) {
+            errorLogger.log("sSet", e);
+            return 0;
+        }
+    }
+    /**
+     * 将set数据放入缓存
+     * @param key 键
+     * @param time 时间(秒)
+     * @param values 值 可以是多个
+     * @return 成功个数
+     */
+    public long sSetAndTime(String key, long time, Object... values) {
+        return sSetAll(key, Arrays.asList(values), time);
+    }
+    /**
+     * 将大量数据放入set缓存
+     * 按batch-size分为多条SADD，与EXPIRE一起管道提交
+     * @param key 键
+     * @param values 值
+     * @param time 时间(秒)
+     * @return 成功个数
+     */
+    public long sSetAll(String key, Collection<?> values, long time) {
+        try {
+            List<List<Object>> chunks = chunks(values);
+            List<Object> results = executePipelined(ops -> {
+                for (List<Object> chunk : chunks) {
+                    ops.opsForSet().add(key, chunk.toArray());
+                }
+                if (time > 0) {
+                    ops.expire(key, time, TimeUnit.SECONDS);
+                }
+            });
+            long count = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                count += (Long) results.get(i);
+            }
+            return count;
+        } catch (Exception e) {
+            errorLogger.log("sSetAll", e);
+            return 0;
+        }
+    }
+    /**
+     * 获取set缓存的长度
+     * @param key 键
+     * @return
+     */
+    public long sGetSetSize(String key) {
+        try {
+            return setOperations.size(key);
+        } catch (Exception e) {
+            errorLogger.log("sGetSetSize", e);
+            return 0;
+        }
+    }
+    /**
+     * 移除值为value的
+     * @param key 键
+     * @param values 值 可以是多个
+     * @return 移除的个数
+     */
+    public long setRemove(String key, Object... values) {
+        try {
+            Long count = setOperations.remove(key, values);
+            return count;
+        } catch (Exception e) {
+            errorLogger.log("setRemove", e);
+            return 0;
+        }
+    }
+
+    // ===============================list=================================
+    /**
+     * 获取list缓存的内容
+     * @param key 键
+     * @param start 开始
+     * @param end 结束 0 到 -1代表所有值
+     * @return
+     */
+    public List<Object> lGet(String key, long start, long end) {
+        try {
+            return listOperations.range(key, start, end);
+        } catch (Exception e) {
+            errorLogger.log("lGet", e);
+            return null;
+        }
+    }
+    /**
+     * 分页获取list缓存的内容
+     * @param key 键
+     * @param page 页码，从1开始
+     * @param size 每页条数
+     * @return
+     */
+    public List<Object> lGetPage(String key, long page, long size) {
+        long start = (Math.max(page, 1) - 1) * size;
+        return lGet(key, start, start + size - 1);
+    }
+    /**
+     * 获取list缓存的长度
+     * @param key 键
+     * @return
+     */
+    public long lGetListSize(String key) {
+        try {
+            return listOperations.size(key);
+        } catch (Exception e) {
+            errorLogger.log("lGetListSize", e);
+            return 0;
+        }
+    }
+    /**
+     * 通过索引 获取list中的值
+     * @param key 键
+     * @param index 索引 index>=0时， 0 表头，1 第二个元素，依次类推；index<0时，-1，表尾，-2倒数第二个元素，依次类推
+     * @return
+     */
+    public Object lGetIndex(String key, long index) {
+        try {
+            return listOperations.index(key, index);
+        } catch (Exception e) {
+            errorLogger.log("lGetIndex", e);
+            return null;
+        }
+    }
+    /**
+     * 将list放入缓存
+     * @param key 键
+     * @param value 值
+     * @return
+     */
+    public boolean lSet(String key, Object value) {
+        try {
+            listOperations.rightPush(key, value);
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("lSet", e);
+            return false;
+        }
+    }
+    /**
+     * 将list放入缓存
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)
+     * @return
+     */
+    public boolean lSet(String key, Object value, long time) {
+        try {
+            listOperations.rightPush(key, value);
+            if (time > 0) {
+                expire(key, time);
+            }
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("lSet", e);
+            return false;
+        }
+    }
+    /**
+     * 将list放入缓存
+     * @param key 键
+     * @param value 值
+     * @return
+     */
+    public boolean lSet(String key, List<Object> value) {
+        return lSet(key, value, 0);
+    }
+    /**
+     * 将list放入缓存
+     * 按batch-size分为多条RPUSH，与EXPIRE一起管道提交，顺序不变
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)
+     * @return
+     */
+    public boolean lSet(String key, List<Object> value, long time) {
+        try {
+            List<List<Object>> chunks = chunks(value);
+            executePipelined(ops -> {
+                for (List<Object> chunk : chunks) {
+                    ops.opsForList().rightPushAll(key, chunk);
+                }
+                if (time > 0) {
+                    ops.expire(key, time, TimeUnit.SECONDS);
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("lSet", e);
+            return false;
+        }
+    }
+    /**
+     * 根据索引修改list中的某条数据
+     * @param key 键
+     * @param index 索引
+     * @param value 值
+     * @return
+     */
+    public boolean lUpdateIndex(String key, long index, Object value) {
+        try {
+            listOperations.set(key, index, value);
+            return true;
+        } catch (Exception e) {
+            errorLogger.log("lUpdateIndex", e);
+            return false;
+        }
+    }
+    /**
+     * 移除N个值为value
+     * @param key 键
+     * @param count 移除多少个
+     * @param value 值
+     * @return 移除的个数
+     */
+    public long lRemove(String key, long count, Object value) {
+        try {
+            Long remove = listOperations.remove(key, count, value);
+            return remove;
+        } catch (Exception e) {
+            errorLogger.log("lRemove", e);
+            return 0;
+        }
+    }
+
+    // ===============================zset=================================
+
+    /**
+     * 将数据放入有序集合
+     * @param key 键
+     * @param value 值
+     * @param score 分数
+     * @return true 新增 false 已存在（分数被更新）
+     */
+    public boolean zAdd(String key, Object value, double score) {
+        return Boolean.TRUE.equals(zSetOperations.add(key, value, score));
+    }
+
+    /**
+     * 批量放入有序集合
+     * 按batch-size分为多条ZADD，与EXPIRE一起管道提交
+     * @param key 键
+     * @param scores 值及其分数
+     * @param time 时间(秒)
+     * @return 新增个数
+     */
+    public long zAdd(String key, Map<Object, Double> scores, long time) {
+        try {
+            List<Set<ZSetOperations.TypedTuple<Object>>> chunks = new ArrayList<>();
+            Set<ZSetOperations.TypedTuple<Object>> chunk = new HashSet<>();
+            for (Map.Entry<Object, Double> entry : scores.entrySet()) {
+                chunk.add(new DefaultTypedTuple<>(entry.getKey(), entry.getValue()));
+                if (chunk.size() >= batchSize) {
+                    chunks.add(chunk);
+                    chunk = new HashSet<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            List<Object> results = executePipelined(ops -> {
+                for (Set<ZSetOperations.TypedTuple<Object>> tuples : chunks) {
+                    ops.opsForZSet().add(key, tuples);
+                }
+                if (time > 0) {
+                    ops.expire(key, time, TimeUnit.SECONDS);
+                }
+            });
+            long count = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                count += (Long) results.get(i);
+            }
+            return count;
+        } catch (Exception e) {
+            errorLogger.log("zAdd", e);
+            return 0;
+        }
+    }
 
+    /**
+     * 增加分数，不存在时新增
+     * @param key 键
+     * @param value 值
+     * @param delta 增加的分数
+     * @return 增加后的分数
+     */
+    public double zIncr(String key, Object value, double delta) {
+        return zSetOperations.incrementScore(key, value, delta);
+    }
+
+    /**
+     * 获取分数
+     * @param key 键
+     * @param value 值
+     * @return 分数，不存在时返回null
+     */
+    public Double zScore(String key, Object value) {
+        return zSetOperations.score(key, value);
+    }
 
+    /**
+     * 按分数从高到低的排名
+     * @param key 键
+     * @param value 值
+     * @return 排名，从0开始，不存在时返回null
+     */
+    public Long zReverseRank(String key, Object value) {
+        return zSetOperations.reverseRank(key, value);
+    }
+
+    /**
+     * 按分数从高到低分页获取值及分数，用于排行榜
+     * @param key 键
+     * @param page 页码，从1开始
+     * @param size 每页条数
+     * @return
+     */
+    public Set<ZSetOperations.TypedTuple<Object>> zReverseRangePage(String key, long page, long size) {
+        long start = (Math.max(page, 1) - 1) * size;
+        return zSetOperations.reverseRangeWithScores(key, start, start + size - 1);
+    }
+
+    /**
+     * 获取有序集合的长度
+     * @param key 键
+     * @return
+     */
+    public long zSize(String key) {
+        Long size = zSetOperations.zCard(key);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * 移除值
+     * @param key 键
+     * @param values 值 可以是多个
+     * @return 移除的个数
+     */
+    public long zRemove(String key, Object... values) {
+        Long count = zSetOperations.remove(key, values);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 管道执行hash/set/list/zset命令，json序列化
+     * @param commands 命令
+     * @return 命令结果，与执行顺序一致
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> executePipelined(Consumer<RedisOperations<String, Object>> commands) {
+        return objectRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 按batch-size分批
+     * @param values 值
+     * @return
+     */
+    private List<List<Object>> chunks(Collection<?> values) {
+        List<List<Object>> chunks = new ArrayList<>();
+        List<Object> chunk = new ArrayList<>(Math.min(values.size(), batchSize));
+        for (Object value : values) {
+            chunk.add(value);
+            if (chunk.size() >= batchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * 按batch-size分批
+     * @param map 键值
+     * @return
+     */
+    private List<Map<String, Object>> chunks(Map<String, Object> map) {
+        List<Map<String, Object>> chunks = new ArrayList<>();
+        Map<String, Object> chunk = new HashMap<>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() >= batchSize) {
+                chunks.add(chunk);
+                chunk = new HashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
 }
@@ -0,0 +1,257 @@
+package com.springboot.framework.build.example.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/18 21:10
+ * 作    者：agent
+ * 功能描述：登录token
+ * token格式：base64url(会话id:过期时间:用户id).base64url(HMAC-SHA256签名)
+ * 验证顺序：
+ * 1. 本地缓存：最近验证通过的token，cache-ttl-seconds内不再访问redis；
+ * 2. 本地验签和过期时间：伪造、过期的token不访问redis；
+ * 3. redis：会话是否存在（未注销），通过后放入本地缓存
+ * 注销时删除redis中的会话，并经pub/sub通知所有节点清除本地缓存；
+ * 收到通知的会话id保留cache-ttl-seconds，与通知同时进行的验证不会把已注销的会话重新放入缓存；
+ * 通知丢失时，已注销的token最多在本地缓存中再存活cache-ttl-seconds
+ * 多节点部署时必须配置相同的token.secret（至少32字节），未配置时每次启动随机生成，重启后已签发的token失效
+ **************************************************************/
+@Component
+public class TokenUtils implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenUtils.class);
+
+    /** 注销通知频道，消息体为会话id */
+    public static final String CHANNEL = "token:revoke";
+    /** 验证通过后，会话存放在request的该属性中 */
+    public static final String SESSION_ATTRIBUTE = TokenUtils.class.getName() + ".session";
+
+    /** redis中会话的前缀 */
+    private static final String KEY_PREFIX = "token:session:";
+    private static final String ALGORITHM = "HmacSHA256";
+    /** 密钥最小长度(字节)，不短于HMAC-SHA256的输出 */
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /** 签名密钥 */
+    @Value("${token.secret:}")
+    private String secret;
+    /** 有效期(秒) */
+    @Value("${token.expire-seconds:7200}")
+    private long expireSeconds;
+    /** 本地缓存时间(秒) */
+    @Value("${token.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+    /** 本地缓存最大条数 */
+    @Value("${token.cache-maximum-size:100000}")
+    private long cacheMaximumSize;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private SecretKeySpec key;
+    /** Mac不是线程安全的，每个线程一个 */
+    private ThreadLocal<Mac> macs;
+    /** 最近验证通过的token */
+    private Cache<String, Session> sessions;
+    /** 会话id到本地缓存中token的索引，与sessions同时放入、同样过期 */
+    private Cache<String, String> tokensBySession;
+    /** 最近收到注销通知的会话id */
+    private Cache<String, Boolean> revoked;
+
+    @PostConstruct
+    public void init() {
+
+        byte[] secretBytes;
+        if (secret.isEmpty()) {
+            logger.warn("未配置token.secret，使用随机密钥：重启后已签发的token失效，多节点之间token不通用");
+            secretBytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (secretBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("token.secret至少" + MIN_SECRET_BYTES + "字节，当前" + secretBytes.length + "字节");
+            }
+        }
+        key = new SecretKeySpec(secretBytes, ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        sessions = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        tokensBySession = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        revoked = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 登录，创建会话并签发token
+     * @param userId 用户id
+     * @return token
+     */
+    public String create(String userId) {
+
+        String sessionId = UUID.randomUUID().toString().replace("-", "");
+        long expireAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expireSeconds);
+        redisTemplate.opsForValue().set(KEY_PREFIX + sessionId, userId, expireSeconds, TimeUnit.SECONDS);
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        byte[] payload = (sessionId + ":" + expireAt + ":" + userId).getBytes(StandardCharsets.UTF_8);
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(macs.get().doFinal(payload));
+    }
+
+    /**
+     * 验证token
+     * @param token token
+     * @return 会话，token无效、过期或已注销时返回null
+     */
+    public Session verify(String token) {
+
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Session session = sessions.getIfPresent(token);
+        if (session != null) {
+            return session.expireAt > now ? session : null;
+        }
+
+        session = parse(token);
+        if (session == null || session.expireAt <= now) {
+            return null;
+        }
+        Boolean exists = redisTemplate.hasKey(KEY_PREFIX + session.sessionId);
+        if (exists == null || !exists) {
+            return null;
+        }
+        sessions.put(token, session);
+        tokensBySession.put(session.sessionId, token);
+        // 查询redis之后收到的注销通知可能没有清除刚放入的缓存，放入后再检查一次
+        if (revoked.getIfPresent(session.sessionId) != null) {
+            sessions.invalidate(token);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * 注销，删除会话并通知所有节点
+     * @param session 会话
+     */
+    public void revoke(Session session) {
+        redisTemplate.delete(KEY_PREFIX + session.sessionId);
+        redisTemplate.convertAndSend(CHANNEL, session.sessionId);
+    }
+
+    /**
+     * 收到注销通知，清除本地缓存
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sessionId = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 先记录再清除，与verify的放入后检查配合
+        revoked.put(sessionId, Boolean.TRUE);
+        String token = tokensBySession.asMap().remove(sessionId);
+        if (token != null) {
+            sessions.invalidate(token);
+        }
+    }
+
+    /**
+     * 验签并解析
+     * @param token token
+     * @return 会话，格式错误或签名不一致时返回null
+     */
+    private Session parse(String token) {
+
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            // 固定时间比较，避免通过响应时间猜出签名
+            if (!MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+                return null;
+            }
+            String[] fields = new String(payload, StandardCharsets.UTF_8).split(":", 3);
+            if (fields.length != 3) {
+                return null;
+            }
+            return new Session(fields[2], fields[0], Long.parseLong(fields[1]));
+        } catch (IllegalArgumentException e) {
+            // base64或数字格式错误
+            return null;
+        }
+    }
+
+    /**
+     * 会话
+     */
+    public static final class Session {
+
+        /** 用户id */
+        private final String userId;
+        /** 会话id */
+        private final String sessionId;
+        /** 过期时间(毫秒时间戳) */
+        private final long expireAt;
+
+        Session(String userId, String sessionId, long expireAt) {
+            this.userId = userId;
+            this.sessionId = sessionId;
+            this.expireAt = expireAt;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public long getExpireAt() {
+            return expireAt;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.springboot.framework.build.example.utils.annotation;
 
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
 import java.lang.annotation.*;
 
 /**************************************************************
@@ -24,4 +27,31 @@ public @interface ExcelField {
      *Excel表头的值
      */
     String value() default "";
+
+    /**
+     * 单元格格式
+     * 例如 "0.00"、"#,##0"、"yyyy-MM-dd HH:mm"
+     * 设置后数值和日期字段按原类型写入单元格，由Excel按格式显示
+     */
+    String format() default "";
+
+    /**
+     * 水平对齐
+     */
+    HorizontalAlignment align() default HorizontalAlignment.GENERAL;
+
+    /**
+     * 字体加粗
+     */
+    boolean bold() default false;
+
+    /**
+     * 字体颜色
+     */
+    IndexedColors fontColor() default IndexedColors.AUTOMATIC;
+
+    /**
+     * 背景颜色
+     */
+    IndexedColors fillColor() default IndexedColors.AUTOMATIC;
 }
@@ -0,0 +1,44 @@
+package com.springboot.framework.build.example.utils.annotation;
+
+import java.lang.annotation.*;
+
+/**************************************************************
+ * 创建日期：2026/10/18 19:20
+ * 作    者：agent
+ * 功能描述：接口限流
+ * 令牌桶：桶容量为limit，每period秒补满limit个令牌，允许突发到limit次
+ **************************************************************/
+@Target({ElementType.METHOD, ElementType.TYPE}) // 此注解可作用在方法、类、包、接口、枚举
+@Retention(RetentionPolicy.RUNTIME) // 运行时有效
+@Documented // 写入javadoc
+public @interface RateLimit {
+
+    /**
+     * 限流名称，为空时使用 类名.方法名
+     */
+    String key() default "";
+
+    /**
+     * 限流维度
+     */
+    Type type() default Type.IP;
+
+    /**
+     * 每个周期允许的请求数
+     */
+    int limit();
+
+    /**
+     * 周期(秒)
+     */
+    int period() default 1;
+
+    enum Type {
+        /** 按客户端ip */
+        IP,
+        /** 按token验证通过的会话，token缺失或验证不通过时按ip */
+        TOKEN,
+        /** 所有请求共用 */
+        GLOBAL
+    }
+}
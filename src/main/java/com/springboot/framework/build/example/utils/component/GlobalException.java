@@ -1,24 +1,72 @@
 package com.springboot.framework.build.example.utils.component;
 
+import com.springboot.framework.build.example.enums.ReturnCode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
 /**************************************************************
  * 创建日期：2019/12/15 11:08
  * 作    者：lixuhong
  * 功能描述：自定义全局异常
+ * 未登录、限流等预期内的业务错误使用GlobalException.of(ReturnCode)，
+ * 返回预先创建的无堆栈实例，抛出时不分配对象、不采集堆栈；
+ * 共享实例只保存不可变的ReturnCode，响应体在处理时按返回码新建，不会被修改后影响其他请求
  **************************************************************/
 public class GlobalException extends RuntimeException{
 
+    /** 每个返回码一个无堆栈实例 */
+    private static final Map<ReturnCode, GlobalException> STACKLESS = new EnumMap<>(ReturnCode.class);
+
+    static {
+        for (ReturnCode returnCode : ReturnCode.values()) {
+            STACKLESS.put(returnCode, new GlobalException(returnCode));
+        }
+    }
+
     private Object object;
+    /** 返回码，通过of创建时不为null */
+    private final ReturnCode returnCode;
 
     public GlobalException(Object object){
         super(object.toString());
         this.object = object;
+        this.returnCode = null;
     }
 
+    /**
+     * 无堆栈、不记录suppressed异常，实例共享
+     */
+    private GlobalException(ReturnCode returnCode){
+        super(returnCode.getMsg(), null, false, false);
+        this.returnCode = returnCode;
+    }
+
+    /**
+     * 预先创建的无堆栈异常，用于控制流程
+     * @param returnCode 返回码
+     * @return
+     */
+    public static GlobalException of(ReturnCode returnCode){
+        return STACKLESS.get(returnCode);
+    }
+
+    /**
+     * 响应内容，共享实例每次返回新的ReturnJson
+     * @return
+     */
     public Object getObject() {
-        return object;
+        return returnCode != null ? ReturnJson.err(returnCode) : object;
     }
 
     public void setObject(Object object) {
+        if (returnCode != null) {
+            throw new UnsupportedOperationException("共享实例的响应由返回码决定，不能修改");
+        }
         this.object = object;
     }
+
+    public ReturnCode getReturnCode() {
+        return returnCode;
+    }
 }
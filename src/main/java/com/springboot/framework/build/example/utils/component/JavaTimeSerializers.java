@@ -0,0 +1,175 @@
+package com.springboot.framework.build.example.utils.component;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**************************************************************
+ * 创建日期：2026/10/18 22:00
+ * 作    者：agent
+ * 功能描述：时间序列化
+ * 输出与JsonConfig中的格式一致（yyyy-MM-dd HH:mm:ss、yyyy-MM-dd、HH:mm:ss），
+ * 直接按位写入字符数组，不经过DateTimeFormatter、SimpleDateFormat；
+ * 年份不在1-9999时退回DateTimeFormatter（yyyy是公元年份，0年输出为0001）；
+ * Date早于1582-10-15时退回SimpleDateFormat（之前按儒略历输出），保证与原格式化器的输出完全一致；
+ * 字段上有@JsonFormat等格式设置时，改用JsonConfig原来的序列化器，由它按字段格式输出
+ **************************************************************/
+public final class JavaTimeSerializers {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    /** 格里高利历启用时间，SimpleDateFormat在此之前按儒略历输出 */
+    private static final long GREGORIAN_CUTOVER = -12219292800000L;
+
+    private JavaTimeSerializers() {
+    }
+
+    /**
+     * 没有格式设置时直接输出，有格式设置时交给原来的序列化器
+     */
+    abstract static class FastSerializer<T> extends StdSerializer<T> implements ContextualSerializer {
+
+        /** JsonConfig原来的序列化器 */
+        private final JsonSerializer<T> fallback;
+
+        FastSerializer(Class<T> type, JsonSerializer<T> fallback) {
+            super(type);
+            this.fallback = fallback;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+            if (format == null || format.equals(JsonFormat.Value.empty())) {
+                return this;
+            }
+            return fallback instanceof ContextualSerializer
+                    ? ((ContextualSerializer) fallback).createContextual(provider, property)
+                    : fallback;
+        }
+    }
+
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public static class LocalDateTimeSerializer extends FastSerializer<LocalDateTime> {
+
+        public LocalDateTimeSerializer() {
+            super(LocalDateTime.class, new com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer(DATE_TIME_FORMATTER));
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value.getYear() < 1 || value.getYear() > 9999) {
+                generator.writeString(value.format(DATE_TIME_FORMATTER));
+                return;
+            }
+            char[] chars = new char[19];
+            writeDate(chars, 0, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+            chars[10] = ' ';
+            writeTime(chars, 11, value.getHour(), value.getMinute(), value.getSecond());
+            generator.writeString(chars, 0, chars.length);
+        }
+    }
+
+    /**
+     * yyyy-MM-dd
+     */
+    public static class LocalDateSerializer extends FastSerializer<LocalDate> {
+
+        public LocalDateSerializer() {
+            super(LocalDate.class, new com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer(DATE_FORMATTER));
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value.getYear() < 1 || value.getYear() > 9999) {
+                generator.writeString(value.format(DATE_FORMATTER));
+                return;
+            }
+            char[] chars = new char[10];
+            writeDate(chars, 0, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+            generator.writeString(chars, 0, chars.length);
+        }
+    }
+
+    /**
+     * HH:mm:ss
+     */
+    public static class LocalTimeSerializer extends FastSerializer<LocalTime> {
+
+        public LocalTimeSerializer() {
+            super(LocalTime.class, new com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer(TIME_FORMATTER));
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] chars = new char[8];
+            writeTime(chars, 0, value.getHour(), value.getMinute(), value.getSecond());
+            generator.writeString(chars, 0, chars.length);
+        }
+    }
+
+    /**
+     * yyyy-MM-dd HH:mm:ss，按系统默认时区，与SimpleDateFormat一致
+     * 用getTime()而不是toInstant()，java.sql.Date也可以序列化
+     */
+    public static class DateSerializer extends FastSerializer<Date> {
+
+        private final LocalDateTimeSerializer delegate = new LocalDateTimeSerializer();
+
+        public DateSerializer() {
+            super(Date.class, new com.fasterxml.jackson.databind.ser.std.DateSerializer(Boolean.FALSE, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")));
+        }
+
+        @Override
+        public void serialize(Date value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(value.getTime()), ZoneId.systemDefault());
+            if (value.getTime() < GREGORIAN_CUTOVER || dateTime.getYear() > 9999) {
+                generator.writeString(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(value));
+                return;
+            }
+            delegate.serialize(dateTime, generator, provider);
+        }
+    }
+
+    private static void writeDate(char[] chars, int offset, int year, int month, int day) {
+        chars[offset] = (char) ('0' + year / 1000 % 10);
+        chars[offset + 1] = (char) ('0' + year / 100 % 10);
+        chars[offset + 2] = (char) ('0' + year / 10 % 10);
+        chars[offset + 3] = (char) ('0' + year % 10);
+        chars[offset + 4] = '-';
+        writeTwoDigits(chars, offset + 5, month);
+        chars[offset + 7] = '-';
+        writeTwoDigits(chars, offset + 8, day);
+    }
+
+    private static void writeTime(char[] chars, int offset, int hour, int minute, int second) {
+        writeTwoDigits(chars, offset, hour);
+        chars[offset + 2] = ':';
+        writeTwoDigits(chars, offset + 3, minute);
+        chars[offset + 5] = ':';
+        writeTwoDigits(chars, offset + 6, second);
+    }
+
+    private static void writeTwoDigits(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -0,0 +1,38 @@
+package com.springboot.framework.build.example.utils.component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**************************************************************
+ * 创建日期：2026/10/19 6:00
+ * 作    者：agent
+ * 功能描述：日志限流
+ * 每秒最多放行maxPerSecond条日志，超出的只计数，放行下一条时返回被限流的条数，由调用方写入日志；
+ * 用于异常日志（ExceptionHandler、RedisErrorLogger），依赖不可用时每个请求都会失败，限流保证不会刷屏拖慢请求
+ **************************************************************/
+public class LogRateLimiter {
+
+    /** 当前秒 */
+    private final AtomicLong logSecond = new AtomicLong();
+    /** 当前秒已放行的日志数 */
+    private final AtomicLong logCount = new AtomicLong();
+    /** 被限流未输出的日志数 */
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * 申请输出一条日志
+     * @param maxPerSecond 每秒最多输出的日志数
+     * @return 被限流时返回-1；放行时返回此前被限流的条数并清零
+     */
+    public long acquire(int maxPerSecond) {
+        long second = System.currentTimeMillis() / 1000;
+        long current = logSecond.get();
+        if (second != current && logSecond.compareAndSet(current, second)) {
+            logCount.set(0);
+        }
+        if (logCount.incrementAndGet() > maxPerSecond) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
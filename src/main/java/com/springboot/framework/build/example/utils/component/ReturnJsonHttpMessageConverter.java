@@ -0,0 +1,192 @@
+package com.springboot.framework.build.example.utils.component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.framework.build.example.enums.ReturnCode;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**************************************************************
+ * 创建日期：2026/10/18 21:40
+ * 作    者：agent
+ * 功能描述：ReturnJson输出
+ * 启动时按ReturnCode预先序列化好两种字节：
+ * 1. 不带数据的完整响应，如{"code":300,"msg":"未登录"}，响应时直接写出；
+ * 2. 带数据时的前缀，如{"code":200,"msg":"执行成功","data":
+ * 带数据时写出前缀，再用JsonGenerator把data直接写入响应流，最后写出}，不构建整个ReturnJson的树；
+ * code、msg不是ReturnCode中的组合时（如参数校验的消息），前缀临时序列化；
+ * data为大集合或Stream时逐个元素写入，每flushSize个元素刷新一次，响应边序列化边发送
+ **************************************************************/
+public class ReturnJsonHttpMessageConverter extends AbstractHttpMessageConverter<ReturnJson> {
+
+    private static final byte[] DATA_FIELD = ",\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    /** 集合元素数达到该值时逐个元素写入 */
+    private final int streamThreshold;
+    /** 逐个元素写入时的刷新间隔 */
+    private final int flushSize;
+
+    /** 与ReturnCode.values()下标一致 */
+    private final int[] codes;
+    private final String[] msgs;
+    /** 不带数据的完整响应 */
+    private final byte[][] responses;
+    /** 带数据时的前缀 */
+    private final byte[][] prefixes;
+
+    /**
+     * @param objectMapper 序列化
+     * @param streamThreshold 集合元素数达到该值时逐个元素写入
+     * @param flushSize 逐个元素写入时，每写入多少个元素刷新一次
+     */
+    public ReturnJsonHttpMessageConverter(ObjectMapper objectMapper, int streamThreshold, int flushSize) throws IOException {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.streamThreshold = streamThreshold;
+        this.flushSize = Math.max(1, flushSize);
+
+        ReturnCode[] returnCodes = ReturnCode.values();
+        codes = new int[returnCodes.length];
+        msgs = new String[returnCodes.length];
+        responses = new byte[returnCodes.length][];
+        prefixes = new byte[returnCodes.length][];
+        for (int i = 0; i < returnCodes.length; i++) {
+            codes[i] = returnCodes[i].getCode();
+            msgs[i] = returnCodes[i].getMsg();
+            responses[i] = encode(returnCodes[i].getCode(), returnCodes[i].getMsg());
+            prefixes[i] = prefix(responses[i]);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ReturnJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        // 只用于输出，请求体仍由MappingJackson2HttpMessageConverter读取
+        return false;
+    }
+
+    @Override
+    protected ReturnJson readInternal(Class<? extends ReturnJson> clazz, HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("不支持读取ReturnJson", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ReturnJson returnJson, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+
+        OutputStream body = outputMessage.getBody();
+        int index = indexOf(returnJson.getCode(), returnJson.getMsg());
+
+        if (returnJson.getData() == null) {
+            body.write(index >= 0 ? responses[index] : encode(returnJson.getCode(), returnJson.getMsg()));
+            return;
+        }
+
+        body.write(index >= 0 ? prefixes[index] : prefix(encode(returnJson.getCode(), returnJson.getMsg())));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8);
+        // 不关闭响应流，还要写出结尾
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Object data = returnJson.getData();
+        if (data instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) data) {
+                writeArray(generator, stream.iterator());
+            }
+        } else if (data instanceof Collection && ((Collection<?>) data).size() >= streamThreshold) {
+            writeArray(generator, ((Collection<?>) data).iterator());
+        } else {
+            objectMapper.writeValue(generator, data);
+        }
+        generator.close();
+        body.write('}');
+    }
+
+    /**
+     * 逐个元素写入数组，相同类型的元素共用一个ObjectWriter，不重复查找序列化器
+     * @param generator 响应流
+     * @param elements 元素
+     */
+    private void writeArray(JsonGenerator generator, Iterator<?> elements) throws IOException {
+
+        ObjectWriter writer = null;
+        Class<?> writerType = null;
+        int count = 0;
+
+        generator.writeStartArray();
+        while (elements.hasNext()) {
+            Object element = elements.next();
+            if (element == null) {
+                generator.writeNull();
+            } else {
+                if (element.getClass() != writerType) {
+                    writerType = element.getClass();
+                    // 每个元素写完不刷新，按flushSize统一刷新
+                    writer = objectMapper.writerFor(writerType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                }
+                writer.writeValue(generator, element);
+            }
+            if (++count % flushSize == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    protected Long getContentLength(ReturnJson returnJson, MediaType contentType) {
+        if (returnJson.getData() == null) {
+            int index = indexOf(returnJson.getCode(), returnJson.getMsg());
+            if (index >= 0) {
+                return (long) responses[index].length;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找预先序列化的下标，ReturnCode只有几个，顺序比较即可
+     * @return 不是ReturnCode中的组合时返回-1
+     */
+    private int indexOf(int code, String msg) {
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == code && (msgs[i] == msg || msgs[i].equals(msg))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 序列化不带数据的响应
+     */
+    private byte[] encode(int code, String msg) throws IOException {
+        return objectMapper.writeValueAsBytes(new ReturnJson(code, msg));
+    }
+
+    /**
+     * 由不带数据的响应得到前缀：去掉结尾的}，加上,"data":
+     */
+    private static byte[] prefix(byte[] response) {
+        byte[] prefix = Arrays.copyOf(response, response.length - 1 + DATA_FIELD.length);
+        System.arraycopy(DATA_FIELD, 0, prefix, response.length - 1, DATA_FIELD.length);
+        return prefix;
+    }
+}
@@ -0,0 +1,259 @@
+package com.springboot.framework.build.example.utils.excel;
+
+import com.springboot.framework.build.example.utils.annotation.ExcelField;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.function.Function;
+
+/**************************************************************
+ * 创建日期：2026/10/18 10:20
+ * 作    者：agent
+ * 功能描述：excel列
+ * 由@ExcelField注解的字段编译而来，读写字段使用预先解析的MethodHandle，
+ * 类型转换和格式化函数在编译时确定，每个单元格不再做反射查找和类型判断
+ **************************************************************/
+public final class ExcelColumn {
+
+    /** 日期格式，DateTimeFormatter线程安全，可共享 */
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** 字段 */
+    private final Field field;
+    /** 注解 */
+    private final ExcelField excelField;
+    /** 字段取值 (Object)Object */
+    private final MethodHandle getter;
+    /** 字段赋值 (Object,Object)void，final字段为null */
+    private final MethodHandle setter;
+    /** 文本转字段值 */
+    private final Function<String, Object> parser;
+    /** 字段值转文本 */
+    private final Function<Object, String> formatter;
+    /** 单元格样式属性，未声明样式时为null */
+    private final ExcelStyleRegistry.StyleKey styleKey;
+    /** 是否按原类型写入单元格（声明了format的数值、日期字段） */
+    private final boolean typedCell;
+
+    ExcelColumn(Field field) throws IllegalAccessException {
+
+        this.field = field;
+        this.excelField = field.getAnnotation(ExcelField.class);
+
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        MethodHandle setterHandle;
+        try {
+            setterHandle = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            setterHandle = null;
+        }
+        this.setter = setterHandle;
+
+        this.parser = parser(field.getType());
+        this.formatter = formatter(field.getType());
+        this.styleKey = ExcelStyleRegistry.StyleKey.of(excelField);
+        this.typedCell = !excelField.format().isEmpty() && (isNumber(field.getType())
+                || Date.class == field.getType() || LocalDateTime.class == field.getType());
+    }
+
+    /**
+     * Excel表头的值
+     */
+    public String getTitle() {
+        return excelField.value();
+    }
+
+    /**
+     * Excel表头位置
+     */
+    public int getColumn() {
+        return excelField.column();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public ExcelField getExcelField() {
+        return excelField;
+    }
+
+    public ExcelStyleRegistry.StyleKey getStyleKey() {
+        return styleKey;
+    }
+
+    /**
+     * 取字段值
+     * @param obj 对象
+     * @return 字段值
+     */
+    public Object get(Object obj) {
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (Throwable e) {
+            throw new IllegalStateException("excel取值异常: " + field.getName(), e);
+        }
+    }
+
+    /**
+     * 给字段赋值
+     * @param obj 对象
+     * @param value 字段值
+     */
+    public void set(Object obj, Object value) throws Exception {
+
+        // 基本类型不能赋null
+        if (value == null && field.getType().isPrimitive()) {
+            return;
+        }
+        if (setter == null) {
+            throw new Exception("对象字段赋值异常");
+        }
+        try {
+            setter.invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw new Exception("对象字段赋值异常");
+        }
+    }
+
+    /**
+     * 字段值转单元格文本
+     * @param value 字段值
+     * @return 文本，字段值为null时返回null
+     */
+    public String format(Object value) {
+        return value == null ? null : formatter.apply(value);
+    }
+
+    /**
+     * 字段值转单元格的值
+     * 声明了format的数值、日期字段返回原值（Number/Date/LocalDateTime），其余返回文本
+     * @param value 字段值
+     * @return 单元格的值，字段值为null时返回null
+     */
+    public Object toCellValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return typedCell ? value : formatter.apply(value);
+    }
+
+    /**
+     * 单元格文本转字段值
+     * @param text 单元格文本
+     * @return 字段值
+     */
+    public Object parse(String text) throws Exception {
+        try {
+            return parser.apply(text);
+        } catch (Exception e) {
+            throw new Exception("对象字段赋值异常");
+        }
+    }
+
+    /**
+     * 读取单元格并转为字段值
+     * @param cell 单元格
+     * @return 字段值
+     */
+    public Object read(Cell cell) throws Exception {
+        try {
+            switch (cell.getCellType()) {
+                case NUMERIC:
+                    if (Date.class == field.getType()) {
+                        return cell.getDateCellValue();
+                    }
+                    if (LocalDateTime.class == field.getType() && DateUtil.isCellDateFormatted(cell)) {
+                        return LocalDateTime.ofInstant(cell.getDateCellValue().toInstant(), ZoneId.systemDefault());
+                    }
+                    // 数值单元格按原始数值转换，不受显示格式影响
+                    return parser.apply(NumberToTextConverter.toText(cell.getNumericCellValue()));
+                case BOOLEAN:
+                    return parser.apply(String.valueOf(cell.getBooleanCellValue()));
+                case BLANK:
+                    return null;
+                default:
+                    if (Date.class == field.getType()) {
+                        return cell.getDateCellValue();
+                    }
+                    return parser.apply(cell.getStringCellValue());
+            }
+        } catch (Exception e) {
+            throw new Exception("对象字段赋值异常");
+        }
+    }
+
+    /**
+     * 是否为数值类型
+     * @param fieldType 字段类型
+     * @return
+     */
+    private static boolean isNumber(Class<?> fieldType) {
+        if (fieldType.isPrimitive()) {
+            return fieldType != Boolean.TYPE && fieldType != Character.TYPE;
+        }
+        return Number.class.isAssignableFrom(fieldType);
+    }
+
+    /**
+     * 根据字段类型确定文本转换函数
+     * @param fieldType 字段类型
+     * @return
+     */
+    private static Function<String, Object> parser(Class<?> fieldType) {
+
+        if (String.class == fieldType) {
+            return text -> text;
+        } else if ((Integer.TYPE == fieldType) || (Integer.class == fieldType)) {
+            return Integer::valueOf;
+        } else if ((Long.TYPE == fieldType) || (Long.class == fieldType)) {
+            return Long::valueOf;
+        } else if ((Float.TYPE == fieldType) || (Float.class == fieldType)) {
+            return Float::valueOf;
+        } else if ((Short.TYPE == fieldType) || (Short.class == fieldType)) {
+            return Short::valueOf;
+        } else if ((Double.TYPE == fieldType) || (Double.class == fieldType)) {
+            return Double::valueOf;
+        } else if ((Boolean.TYPE == fieldType) || (Boolean.class == fieldType)) {
+            return Boolean::valueOf;
+        } else if ((Character.TYPE == fieldType) || (Character.class == fieldType)) {
+            return text -> text.length() > 0 ? Character.valueOf(text.charAt(0)) : null;
+        } else if (Date.class == fieldType) {
+            return text -> Date.from(LocalDateTime.parse(text, DATE_FORMATTER).atZone(ZoneId.systemDefault()).toInstant());
+        } else if (LocalDateTime.class == fieldType) {
+            return text -> LocalDateTime.parse(text, DATE_FORMATTER);
+        }
+        return text -> text;
+    }
+
+    /**
+     * 根据字段类型确定格式化函数
+     * @param fieldType 字段类型
+     * @return
+     */
+    private static Function<Object, String> formatter(Class<?> fieldType) {
+
+        if (Date.class == fieldType) {
+            // 不使用Date.toInstant，java.sql.Date不支持
+            return value -> DATE_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date) value).getTime()), ZoneId.systemDefault()));
+        } else if (LocalDateTime.class == fieldType) {
+            return value -> DATE_FORMATTER.format((LocalDateTime) value);
+        }
+        return Object::toString;
+    }
+}
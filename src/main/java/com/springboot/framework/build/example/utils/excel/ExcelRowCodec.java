@@ -0,0 +1,183 @@
+package com.springboot.framework.build.example.utils.excel;
+
+import com.springboot.framework.build.example.utils.annotation.ExcelField;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**************************************************************
+ * 创建日期：2026/10/18 10:35
+ * 作    者：agent
+ * 功能描述：excel行编解码
+ * 每个类只在第一次使用时根据@ExcelField注解编译一次，之后缓存复用，
+ * 行与对象之间的转换按列下标直接访问，不再按字段名查找
+ **************************************************************/
+public final class ExcelRowCodec<T> {
+
+    /** 已编译的类 */
+    private static final ConcurrentMap<Class<?>, ExcelRowCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    /** 包装类 */
+    private final Class<T> clazz;
+    /** 无参构造方法 ()Object，不存在时为null */
+    private final MethodHandle constructor;
+    /** 按column排序后的列 */
+    private final List<ExcelColumn> columns;
+
+    private ExcelRowCodec(Class<T> clazz) {
+
+        this.clazz = clazz;
+        this.constructor = constructor(clazz);
+
+        // 获取被注解的字段并排序
+        List<ExcelColumn> columnList = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.getAnnotation(ExcelField.class) == null) {
+                continue;
+            }
+            try {
+                columnList.add(new ExcelColumn(field));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法访问类属性: " + field.getName(), e);
+            }
+        }
+        columnList.sort(Comparator.comparingInt(ExcelColumn::getColumn));
+        this.columns = Collections.unmodifiableList(columnList);
+    }
+
+    /**
+     * 获取类的编解码器
+     * @param clazz 被注解的类
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelRowCodec<T> of(Class<T> clazz) {
+        return (ExcelRowCodec<T>) CODECS.computeIfAbsent(clazz, key -> new ExcelRowCodec<>(key));
+    }
+
+    public Class<T> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * 按column排序后的列
+     */
+    public List<ExcelColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 列数
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * 实例化对象
+     * @return
+     */
+    public T newInstance() throws Exception {
+
+        if (constructor == null) {
+            throw new Exception("实例化对象的类缺少构造方法");
+        }
+        Object obj;
+        try {
+            obj = constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new Exception("实例化失败");
+        }
+        return clazz.cast(obj);
+    }
+
+    /**
+     * 检查excel表头和类字段是否一致
+     * @param head excel表头文字
+     * @return true：通过；false：不通过
+     */
+    public boolean checkHeader(List<String> head) {
+
+        for (int i = 0; i < head.size(); i++) {
+            if (i >= columns.size()) {
+                return false;
+            }
+            // 表头文字与注解描述一致
+            if (!columns.get(i).getTitle().equals(head.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 对象转为一行单元格文本
+     * @param obj 对象
+     * @param cells 用于存放单元格文本，长度不小于列数，可重复使用
+     * @return cells
+     */
+    public String[] format(T obj, String[] cells) {
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumn column = columns.get(i);
+            cells[i] = column.format(column.get(obj));
+        }
+        return cells;
+    }
+
+    /**
+     * 对象转为一行单元格的值
+     * @param obj 对象
+     * @param values 用于存放单元格的值，长度不小于列数，可重复使用
+     * @return values
+     * @see ExcelColumn#toCellValue(Object)
+     */
+    public Object[] cellValues(T obj, Object[] values) {
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumn column = columns.get(i);
+            values[i] = column.toCellValue(column.get(obj));
+        }
+        return values;
+    }
+
+    /**
+     * 一行单元格文本转为对象
+     * @param cells 单元格文本，按列排列，null表示空单元格
+     * @return 对象
+     */
+    public T parse(List<String> cells) throws Exception {
+
+        T obj = newInstance();
+        int size = Math.min(cells.size(), columns.size());
+        for (int i = 0; i < size; i++) {
+            String text = cells.get(i);
+            if (text == null) {
+                continue;
+            }
+            ExcelColumn column = columns.get(i);
+            column.set(obj, column.parse(text));
+        }
+        return obj;
+    }
+
+    /**
+     * 获取无参构造方法
+     * @param clazz 包装类
+     * @return
+     */
+    private static MethodHandle constructor(Class<?> clazz) {
+        try {
+            Constructor<?> ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.springboot.framework.build.example.utils.excel;
+
+/**************************************************************
+ * 创建日期：2026/10/18 16:40
+ * 作    者：agent
+ * 功能描述：excel流式导入的行回调
+ * 行号为excel中显示的行号（从1开始，表头为第1行）
+ **************************************************************/
+public interface ExcelRowListener<T> {
+
+    /**
+     * 解析出一行数据
+     * @param rowNum 行号
+     * @param data 数据
+     */
+    void onRow(int rowNum, T data);
+
+    /**
+     * 一行数据转换失败
+     * @param rowNum 行号
+     * @param message 失败原因
+     * @return true：跳过该行继续解析；false：终止解析
+     */
+    default boolean onError(int rowNum, String message) {
+        return false;
+    }
+}
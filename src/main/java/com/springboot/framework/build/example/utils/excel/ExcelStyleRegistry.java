@@ -0,0 +1,182 @@
+package com.springboot.framework.build.example.utils.excel;
+
+import com.springboot.framework.build.example.utils.annotation.ExcelField;
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**************************************************************
+ * 创建日期：2026/10/18 16:05
+ * 作    者：agent
+ * 功能描述：excel样式池
+ * 每个workbook一个，按样式属性缓存CellStyle和Font，相同属性只创建一次；
+ * 一个workbook最多64000个样式，样式数量只取决于不同属性组合的数量，与行数、列数无关
+ * 非线程安全，与workbook在同一个线程中使用
+ **************************************************************/
+public class ExcelStyleRegistry {
+
+    /** 表头样式：白色背景、居中 */
+    public static final StyleKey HEADER = new StyleKey("", HorizontalAlignment.CENTER, false, IndexedColors.AUTOMATIC, IndexedColors.WHITE);
+
+    private final Workbook workbook;
+    private final DataFormat dataFormat;
+    private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+    private final Map<FontKey, Font> fonts = new HashMap<>();
+
+    public ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+        this.dataFormat = workbook.createDataFormat();
+    }
+
+    /**
+     * 获取样式，不存在时创建
+     * @param key 样式属性
+     * @return
+     */
+    public CellStyle getStyle(StyleKey key) {
+        return styles.computeIfAbsent(key, this::createStyle);
+    }
+
+    /**
+     * 获取每一列数据单元格的样式
+     * @param codec 编解码器
+     * @return 按列排列，未声明样式的列为null
+     */
+    public CellStyle[] getColumnStyles(ExcelRowCodec<?> codec) {
+        List<ExcelColumn> columns = codec.getColumns();
+        CellStyle[] columnStyles = new CellStyle[columns.size()];
+        for (int i = 0; i < columnStyles.length; i++) {
+            StyleKey key = columns.get(i).getStyleKey();
+            columnStyles[i] = key == null ? null : getStyle(key);
+        }
+        return columnStyles;
+    }
+
+    /**
+     * 已创建的样式数
+     */
+    public int size() {
+        return styles.size();
+    }
+
+    /**
+     * 创建样式
+     * @param key 样式属性
+     * @return
+     */
+    private CellStyle createStyle(StyleKey key) {
+
+        CellStyle cellStyle = workbook.createCellStyle();
+        if (key.fillColor != IndexedColors.AUTOMATIC) {
+            cellStyle.setFillForegroundColor(key.fillColor.getIndex());
+            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        cellStyle.setAlignment(key.align);
+        if (!key.format.isEmpty()) {
+            cellStyle.setDataFormat(dataFormat.getFormat(key.format));
+        }
+        cellStyle.setFont(fonts.computeIfAbsent(new FontKey(key.bold, key.fontColor), this::createFont));
+        return cellStyle;
+    }
+
+    /**
+     * 创建字体
+     * @param key 字体属性
+     * @return
+     */
+    private Font createFont(FontKey key) {
+        Font font = workbook.createFont();
+        font.setBold(key.bold);
+        if (key.color != IndexedColors.AUTOMATIC) {
+            font.setColor(key.color.getIndex());
+        }
+        return font;
+    }
+
+    /**
+     * 样式属性
+     */
+    public static final class StyleKey {
+
+        private final String format;
+        private final HorizontalAlignment align;
+        private final boolean bold;
+        private final IndexedColors fontColor;
+        private final IndexedColors fillColor;
+
+        public StyleKey(String format, HorizontalAlignment align, boolean bold, IndexedColors fontColor, IndexedColors fillColor) {
+            this.format = format;
+            this.align = align;
+            this.bold = bold;
+            this.fontColor = fontColor;
+            this.fillColor = fillColor;
+        }
+
+        /**
+         * 根据注解获取样式属性
+         * @param excelField 注解
+         * @return 未声明任何样式时返回null
+         */
+        public static StyleKey of(ExcelField excelField) {
+            StyleKey key = new StyleKey(excelField.format(), excelField.align(), excelField.bold(), excelField.fontColor(), excelField.fillColor());
+            return key.isDefault() ? null : key;
+        }
+
+        private boolean isDefault() {
+            return format.isEmpty() && align == HorizontalAlignment.GENERAL && !bold
+                    && fontColor == IndexedColors.AUTOMATIC && fillColor == IndexedColors.AUTOMATIC;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StyleKey)) {
+                return false;
+            }
+            StyleKey that = (StyleKey) o;
+            return bold == that.bold && format.equals(that.format) && align == that.align
+                    && fontColor == that.fontColor && fillColor == that.fillColor;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(format, align, bold, fontColor, fillColor);
+        }
+    }
+
+    /**
+     * 字体属性
+     */
+    private static final class FontKey {
+
+        private final boolean bold;
+        private final IndexedColors color;
+
+        FontKey(boolean bold, IndexedColors color) {
+            this.bold = bold;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FontKey)) {
+                return false;
+            }
+            FontKey that = (FontKey) o;
+            return bold == that.bold && color == that.color;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bold, color);
+        }
+    }
+}
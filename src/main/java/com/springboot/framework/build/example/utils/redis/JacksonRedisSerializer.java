@@ -0,0 +1,133 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**************************************************************
+ * 创建日期：2026/10/18 18:10
+ * 作    者：agent
+ * 功能描述：redis值序列化
+ * 按配置的格式写入（json或smile二进制），超过阈值的值再做gzip压缩；
+ * 读取时根据内容头部识别格式，json、smile、压缩与否可以混合存在，切换格式不影响已有的key；
+ * type为Object时依赖mapper的default typing在每个值中写入类名；
+ * 值的类型固定时（单个缓存、专用模板）指定type，mapper不开启default typing，值中不再写入类名
+ **************************************************************/
+public class JacksonRedisSerializer<T> implements RedisSerializer<T> {
+
+    /** smile格式头部 ":)\n" */
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+    /** gzip格式头部 */
+    private static final byte[] GZIP_HEADER = {(byte) 0x1f, (byte) 0x8b};
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    /** 写入的格式和类型 */
+    private final ObjectWriter writer;
+    /** 压缩阈值(字节)，小于等于0时不压缩 */
+    private final int compressThreshold;
+    /** 值的类型 */
+    private final JavaType type;
+
+    /**
+     * @param jsonMapper json格式
+     * @param smileMapper smile格式，使用SmileFactory创建
+     * @param type 值的类型，Object表示任意类型，mapper须开启default typing
+     * @param smile 是否写入smile
+     * @param compressThreshold 压缩阈值(字节)，小于等于0时不压缩
+     */
+    public JacksonRedisSerializer(ObjectMapper jsonMapper, ObjectMapper smileMapper, Class<T> type, boolean smile, int compressThreshold) {
+        this(jsonMapper, smileMapper, jsonMapper.constructType(type), smile, compressThreshold);
+    }
+
+    /**
+     * @param jsonMapper json格式
+     * @param smileMapper smile格式，使用SmileFactory创建
+     * @param type 值的类型，可以带泛型参数，须与T一致
+     * @param smile 是否写入smile
+     * @param compressThreshold 压缩阈值(字节)，小于等于0时不压缩
+     */
+    public JacksonRedisSerializer(ObjectMapper jsonMapper, ObjectMapper smileMapper, JavaType type, boolean smile, int compressThreshold) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileMapper;
+        this.type = type;
+        this.compressThreshold = compressThreshold;
+        ObjectMapper mapper = smile ? smileMapper : jsonMapper;
+        // Object时按值的实际类型写入，与ObjectMapper.writeValueAsBytes相同
+        this.writer = type.hasRawClass(Object.class) ? mapper.writer() : mapper.writerFor(type);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] bytes = writer.writeValueAsBytes(value);
+            if (compressThreshold > 0 && bytes.length > compressThreshold) {
+                return compress(bytes);
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("序列化失败：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (startsWith(bytes, GZIP_HEADER)) {
+                bytes = decompress(bytes);
+            }
+            ObjectMapper mapper = startsWith(bytes, SMILE_HEADER) ? smileMapper : jsonMapper;
+            return mapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("反序列化失败：" + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = gzip.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] header) {
+        if (bytes.length < header.length) {
+            return false;
+        }
+        for (int i = 0; i < header.length; i++) {
+            if (bytes[i] != header[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
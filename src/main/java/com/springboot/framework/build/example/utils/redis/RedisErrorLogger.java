@@ -0,0 +1,72 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.springboot.framework.build.example.utils.component.LogRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**************************************************************
+ * 创建日期：2026/10/18 22:40
+ * 作    者：agent
+ * 功能描述：redis操作异常记录
+ * RedisUtils等工具吞掉异常返回默认值时调用，代替e.printStackTrace()：
+ * 按操作计数(redis.errors，标签operation)；
+ * 输出WARN日志，每秒最多redis.error-log.max-per-second条，超出的只计数，在下一条日志中报告（见LogRateLimiter）
+ **************************************************************/
+@Component
+public class RedisErrorLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisErrorLogger.class);
+
+    /** 每秒最多输出的日志数 */
+    @Value("${redis.error-log.max-per-second:10}")
+    private int maxLogsPerSecond;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registryProvider;
+
+    /** 每个操作的计数器 */
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    /** 日志限流 */
+    private final LogRateLimiter logLimiter = new LogRateLimiter();
+
+    /**
+     * 记录异常
+     * @param operation 操作，如 expire、hset
+     * @param e 异常
+     */
+    public void log(String operation, Throwable e) {
+
+        Counter counter = counters.get(operation);
+        if (counter == null) {
+            MeterRegistry registry = registryProvider.getIfAvailable();
+            if (registry != null) {
+                counter = counters.computeIfAbsent(operation, key -> Counter.builder("redis.errors")
+                        .description("redis操作异常数")
+                        .tag("operation", key)
+                        .register(registry));
+            }
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+
+        long dropped = logLimiter.acquire(maxLogsPerSecond);
+        if (dropped < 0) {
+            return;
+        }
+        if (dropped > 0) {
+            logger.warn("redis操作{}失败（此前{}条日志因限流未输出）", operation, dropped, e);
+        } else {
+            logger.warn("redis操作{}失败", operation, e);
+        }
+    }
+}
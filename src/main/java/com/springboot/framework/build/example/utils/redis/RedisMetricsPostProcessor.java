@@ -0,0 +1,217 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/18 20:30
+ * 作    者：agent
+ * 功能描述：redis监控指标
+ * 代理RedisConnectionFactory，RedisUtils、RedisTemplate等所有阻塞式访问都会被统计：
+ * redis.connection.get  从连接工厂获取连接的耗时（默认共享连接，不经过连接池；连接池的等待见RedisPoolMetrics）
+ * redis.command         每个命令的耗时，按command、result(success/error)区分
+ * redis.payload         每个命令发送(out)、接收(in)的字节数
+ * 每种连接类的代理类只生成一次，每个连接只创建一个InvocationHandler；各命令的Timer、DistributionSummary按名称缓存
+ * 指标通过actuator的/actuator/metrics查看，接入prometheus等监控系统时加入对应的micrometer-registry依赖即可
+ **************************************************************/
+public class RedisMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+
+    /** 每种连接类的代理类构造器 */
+    private final ConcurrentMap<Class<?>, Constructor<?>> proxyConstructors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> errorTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> outSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> inSummaries = new ConcurrentHashMap<>();
+    private volatile Timer connectionTimer;
+
+    public RedisMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+        if (!(bean instanceof RedisConnectionFactory)) {
+            return bean;
+        }
+        // 连接工厂只代理一次；保留原类型，注入LettuceConnectionFactory、ReactiveRedisConnectionFactory的地方不受影响
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            String name = invocation.getMethod().getName();
+            if (!"getConnection".equals(name) && !"getClusterConnection".equals(name)) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            Object connection = invocation.proceed();
+            connectionTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return instrument(connection);
+        });
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * 代理连接，统计每个命令
+     * @param connection 连接
+     * @return
+     */
+    private Object instrument(Object connection) {
+
+        Constructor<?> constructor = proxyConstructors.computeIfAbsent(connection.getClass(), type -> {
+            try {
+                Class<?> proxyClass = Proxy.getProxyClass(type.getClassLoader(), ClassUtils.getAllInterfacesForClass(type));
+                return proxyClass.getConstructor(InvocationHandler.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            return constructor.newInstance(new CommandHandler(connection));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 统计连接上的每个命令
+     */
+    private class CommandHandler implements InvocationHandler {
+
+        private final Object target;
+
+        CommandHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            String command = method.getName();
+            if (!isCommand(command)) {
+                return call(method, args);
+            }
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                Object value = call(method, args);
+                success = true;
+                recordPayload(inSummaries, command, "in", value);
+                return value;
+            } finally {
+                timer(success ? successTimers : errorTimers, command, success ? "success" : "error")
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (args != null) {
+                    for (Object argument : args) {
+                        recordPayload(outSummaries, command, "out", argument);
+                    }
+                }
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    /**
+     * 是否为redis命令，排除连接管理和获取子命令接口的方法
+     */
+    private static boolean isCommand(String name) {
+        switch (name) {
+            case "close":
+            case "isClosed":
+            case "getNativeConnection":
+            case "isQueueing":
+            case "isPipelined":
+            case "openPipeline":
+            case "getSentinelConnection":
+            case "isSubscribed":
+            case "getSubscription":
+            case "equals":
+            case "hashCode":
+            case "toString":
+                return false;
+            default:
+                return !name.endsWith("Commands");
+        }
+    }
+
+    private Timer timer(ConcurrentMap<String, Timer> timers, String command, String result) {
+        Timer timer = timers.get(command);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(command, key -> Timer.builder("redis.command")
+                    .description("redis命令耗时")
+                    .tag("command", key)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(registry()));
+        }
+        return timer;
+    }
+
+    /**
+     * 统计字节数，只统计byte[]和byte[][]
+     */
+    private void recordPayload(ConcurrentMap<String, DistributionSummary> summaries, String command, String direction, Object value) {
+
+        long size = 0;
+        if (value instanceof byte[]) {
+            size = ((byte[]) value).length;
+        } else if (value instanceof byte[][]) {
+            for (byte[] bytes : (byte[][]) value) {
+                size += bytes == null ? 0 : bytes.length;
+            }
+        } else {
+            return;
+        }
+        DistributionSummary summary = summaries.get(command);
+        if (summary == null) {
+            summary = summaries.computeIfAbsent(command, key -> DistributionSummary.builder("redis.payload")
+                    .description("redis命令字节数")
+                    .baseUnit("bytes")
+                    .tag("command", key)
+                    .tag("direction", direction)
+                    .register(registry()));
+        }
+        summary.record(size);
+    }
+
+    private Timer connectionTimer() {
+        if (connectionTimer == null) {
+            connectionTimer = Timer.builder("redis.connection.get")
+                    .description("从连接工厂获取redis连接的耗时")
+                    .register(registry());
+        }
+        return connectionTimer;
+    }
+
+    private MeterRegistry registry() {
+        if (registry == null) {
+            registry = registryProvider.getObject();
+        }
+        return registry;
+    }
+}
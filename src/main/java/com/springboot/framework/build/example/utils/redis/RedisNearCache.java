@@ -0,0 +1,234 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**************************************************************
+ * 创建日期：2026/10/18 17:20
+ * 作    者：agent
+ * 功能描述：redis本地近缓存（L1）
+ * 在进程内缓存热点key，命中时不访问redis；
+ * 基于Caffeine（W-TinyLFU淘汰），按条数限制大小；
+ * 本地过期时间取redis剩余过期时间与max-ttl-seconds中较小的值；
+ * 任一节点通过RedisUtils写入、删除时，经pub/sub通知所有节点失效本地缓存
+ * 默认关闭，通过redis.near-cache.enabled开启，prefixes限定缓存的key前缀（为空时缓存所有key）；
+ * 开启后命中、未命中、淘汰次数和条数发布为cache.*指标（标签cache=redisNearCache）
+ **************************************************************/
+@Component
+public class RedisNearCache implements MessageListener {
+
+    /** 失效通知频道，消息体为换行分隔的key */
+    public static final String CHANNEL = "near-cache:invalidate";
+
+    @Value("${redis.near-cache.enabled:false}")
+    private boolean enabled;
+    /** 最大条数 */
+    @Value("${redis.near-cache.maximum-size:10000}")
+    private long maximumSize;
+    /** 本地最长缓存时间(秒)，即使收不到失效通知，也最多读到这么久之前的值 */
+    @Value("${redis.near-cache.max-ttl-seconds:60}")
+    private long maxTtlSeconds;
+    /** 缓存的key前缀 */
+    @Value("${redis.near-cache.prefixes:}")
+    private String[] prefixes;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    @Autowired
+    private ObjectProvider<MeterRegistry> registryProvider;
+
+    private Cache<String, Entry> cache;
+    /** 失效次数，用于判断加载期间是否发生过失效 */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "redisNearCache");
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * key是否使用本地缓存
+     * @param key 键
+     * @return
+     */
+    public boolean accept(String key) {
+
+        if (cache == null) {
+            return false;
+        }
+        if (prefixes.length == 0) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取，本地未命中时从redis读取值和剩余过期时间（一次往返）后放入本地
+     * @param key 键，需先通过accept判断
+     * @return 值
+     */
+    public String get(String key) {
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            return entry.value;
+        }
+
+        long gen = generation.get();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForValue().get(key);
+                ops.getExpire(key, TimeUnit.MILLISECONDS);
+                return null;
+            }
+        });
+        String value = (String) results.get(0);
+        Long ttlMillis = (Long) results.get(1);
+
+        long ttl = TimeUnit.SECONDS.toMillis(maxTtlSeconds);
+        if (ttlMillis != null && ttlMillis > 0) {
+            ttl = Math.min(ttl, ttlMillis);
+        }
+        cache.put(key, new Entry(value, TimeUnit.MILLISECONDS.toNanos(ttl)));
+        // 加载期间发生过失效，放入的可能是旧值
+        if (generation.get() != gen) {
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    /**
+     * 失效本地缓存并通知其他节点
+     * @param keys 键
+     */
+    public void invalidate(Collection<String> keys) {
+
+        List<String> accepted = evictLocal(keys);
+        if (!accepted.isEmpty()) {
+            redisTemplate.convertAndSend(CHANNEL, String.join("\n", accepted));
+        }
+    }
+
+    /**
+     * 只失效本地缓存，由调用方自行发送失效通知（如响应式客户端）
+     * @param keys 键
+     * @return 使用本地缓存的key，即需要通知其他节点的key
+     */
+    public List<String> evictLocal(Collection<String> keys) {
+
+        List<String> accepted = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (accept(key)) {
+                accepted.add(key);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            evict(accepted);
+        }
+        return accepted;
+    }
+
+    /**
+     * 收到失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        evict(Arrays.asList(body.split("\n")));
+    }
+
+    /**
+     * 命中、未命中、淘汰次数
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * 当前条数（估计值）
+     */
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private void evict(List<String> keys) {
+        generation.incrementAndGet();
+        cache.invalidateAll(keys);
+    }
+
+    /**
+     * 缓存条目，value为null表示redis中不存在
+     */
+    private static class Entry {
+
+        private final String value;
+        private final long ttlNanos;
+
+        Entry(String value, long ttlNanos) {
+            this.value = value;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.function.ToDoubleFunction;
+
+/**************************************************************
+ * 创建日期：2026/10/18 22:30
+ * 作    者：agent
+ * 功能描述：redis连接池指标
+ * lettuce按需创建commons-pool2连接池，这里不持有连接池对象，每次采集时从JMX读取所有以JMX_NAME_PREFIX命名的连接池：
+ * redis.pool.active          借出中的连接数
+ * redis.pool.idle            空闲连接数
+ * redis.pool.waiters         等待借出连接的线程数
+ * redis.pool.borrow.wait     借出连接的平均等待时间(毫秒)，各连接池中的最大值
+ * redis.pool.borrow.wait.max 借出连接的最长等待时间(毫秒)
+ * 未配置spring.redis.lettuce.pool时没有连接池，各指标为0
+ **************************************************************/
+public class RedisPoolMetrics implements MeterBinder {
+
+    /** 连接池的JMX名称前缀，见RedisConfig.lettucePoolCustomizer */
+    public static final String JMX_NAME_PREFIX = "redis-pool";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName pattern;
+
+    public RedisPoolMetrics() {
+        try {
+            pattern = new ObjectName("org.apache.commons.pool2:type=GenericObjectPool,name=" + JMX_NAME_PREFIX + "*");
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "redis.pool.active", "借出中的连接数", null, metrics -> metrics.sum("NumActive"));
+        gauge(registry, "redis.pool.idle", "空闲连接数", null, metrics -> metrics.sum("NumIdle"));
+        gauge(registry, "redis.pool.waiters", "等待借出连接的线程数", null, metrics -> metrics.sum("NumWaiters"));
+        gauge(registry, "redis.pool.borrow.wait", "借出连接的平均等待时间", "milliseconds", metrics -> metrics.max("MeanBorrowWaitTimeMillis"));
+        gauge(registry, "redis.pool.borrow.wait.max", "借出连接的最长等待时间", "milliseconds", metrics -> metrics.max("MaxBorrowWaitTimeMillis"));
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, String baseUnit,
+                       ToDoubleFunction<RedisPoolMetrics> value) {
+        Gauge.builder(name, this, value).description(description).baseUnit(baseUnit).register(registry);
+    }
+
+    /**
+     * 所有连接池的属性之和
+     */
+    private double sum(String attribute) {
+        double sum = 0;
+        for (ObjectName name : mBeanServer.queryNames(pattern, null)) {
+            sum += read(name, attribute);
+        }
+        return sum;
+    }
+
+    /**
+     * 所有连接池的属性最大值
+     */
+    private double max(String attribute) {
+        double max = 0;
+        for (ObjectName name : mBeanServer.queryNames(pattern, null)) {
+            max = Math.max(max, read(name, attribute));
+        }
+        return max;
+    }
+
+    private double read(ObjectName name, String attribute) {
+        try {
+            return ((Number) mBeanServer.getAttribute(name, attribute)).doubleValue();
+        } catch (Exception e) {
+            // 连接池已关闭并注销
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**************************************************************
+ * 创建日期：2026/10/18 19:30
+ * 作    者：agent
+ * 功能描述：分布式限流
+ * redis中用lua脚本原子地维护令牌桶（时间取redis服务器时间，各节点时钟不一致也不影响）；
+ * 每个节点一次从redis租借一批令牌放在本地，租借的令牌用完或租期到了再访问redis，
+ * 大部分请求在本地判断，不需要网络往返；
+ * 租借的令牌租期内未用完时作废，因此限流只会偏严不会放宽；
+ * 每批租借数为limit的1/10，不超过lease-size，limit小于20时每次请求都访问redis；
+ * redis不可用时放行，异常交给RedisErrorLogger计数(redis.errors，operation=rateLimit)和限流输出日志
+ **************************************************************/
+@Component
+public class RedisRateLimiter {
+
+    /**
+     * 令牌桶脚本
+     * KEYS[1] 桶  ARGV[1] 容量  ARGV[2] 每毫秒补充的令牌数  ARGV[3] 申请的令牌数
+     * 返回实际获得的令牌数（令牌不足时获得剩余的全部）
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "redis.replicate_commands() " +
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) " +
+            "local requested = tonumber(ARGV[3]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if tokens == nil or ts == nil then tokens = capacity ts = now end " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) " +
+            "local granted = math.min(requested, math.floor(tokens)) " +
+            "tokens = tokens - granted " +
+            "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000) " +
+            "return granted",
+            Long.class);
+
+    /** 每批最多租借的令牌数 */
+    @Value("${rate-limit.lease-size:50}")
+    private int maxLeaseSize;
+    /** 租期(毫秒)，越短各节点越公平，访问redis越多 */
+    @Value("${rate-limit.lease-millis:200}")
+    private long leaseMillis;
+    /** 本地最多保存的桶数 */
+    @Value("${rate-limit.maximum-size:100000}")
+    private long maximumSize;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisErrorLogger errorLogger;
+
+    /** 本地租借的令牌 */
+    private Cache<String, Lease> leases;
+
+    @PostConstruct
+    public void init() {
+        leases = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * 获取一个令牌
+     * @param key 桶
+     * @param limit 每个周期允许的请求数
+     * @param periodSeconds 周期(秒)
+     * @return true 通过 false 限流
+     */
+    public boolean tryAcquire(String key, int limit, int periodSeconds) {
+
+        Lease lease = leases.get(key, k -> new Lease());
+        if (lease.tryTake(System.currentTimeMillis())) {
+            return true;
+        }
+        synchronized (lease) {
+            // 等锁期间其他线程可能已经租借
+            if (lease.tryTake(System.currentTimeMillis())) {
+                return true;
+            }
+            int leaseSize = Math.max(1, Math.min(maxLeaseSize, limit / 10));
+            long granted;
+            try {
+                double rate = (double) limit / TimeUnit.SECONDS.toMillis(periodSeconds);
+                Long result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(key),
+                        String.valueOf(limit), String.valueOf(rate), String.valueOf(leaseSize));
+                granted = result == null ? 0 : result;
+            } catch (Exception e) {
+                // redis不可用时放行，不因限流影响业务
+                errorLogger.log("rateLimit", e);
+                return true;
+            }
+            if (granted <= 0) {
+                return false;
+            }
+            lease.renew((int) granted - 1, System.currentTimeMillis() + leaseMillis);
+            return true;
+        }
+    }
+
+    /**
+     * 本地租借的令牌
+     */
+    private static class Lease {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile long expireAt;
+
+        boolean tryTake(long now) {
+            if (now >= expireAt) {
+                return false;
+            }
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void renew(int tokens, long expireAt) {
+            remaining.set(tokens);
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.springboot.framework.build.example.utils.RedisLockUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.*;
+
+/**************************************************************
+ * 创建日期：2026/10/18 18:50
+ * 作    者：agent
+ * 功能描述：防击穿缓存
+ * 包装RedisCache，@Cacheable(sync = true)时生效：
+ * 1.同一个key在本进程内只有一个线程执行查询，其余线程等待并共用结果（single-flight）；
+ * 2.开启分布式锁时，多个节点中只有拿到锁的节点查询，其余节点等待缓存写入；
+ * 3.概率提前过期（XFetch）：越接近过期、查询越慢，越可能提前由一个请求重建，其余请求继续返回旧值
+ * 缓存中存放的是CacheEntry，记录查询耗时和过期时间
+ **************************************************************/
+public class StampedeProtectedCache implements Cache {
+
+    /** 等待分布式锁时轮询缓存的间隔(毫秒) */
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    private final Cache delegate;
+    /** 缓存过期时间(毫秒)，0表示不过期 */
+    private final long ttlMillis;
+    /** XFetch系数，越大越早刷新，小于等于0时不提前刷新 */
+    private final double beta;
+    /** 分布式锁，为null时不使用 */
+    private final RedisLockUtils lockUtils;
+    /** 等待分布式锁的最长时间(毫秒)，超时后自行查询 */
+    private final long lockWaitMillis;
+    /** 正在查询的key */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCache(Cache delegate, long ttlMillis, double beta,
+                                  RedisLockUtils lockUtils, long lockWaitMillis) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.beta = beta;
+        this.lockUtils = lockUtils;
+        this.lockWaitMillis = lockWaitMillis;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper == null ? null : new SimpleValueWrapper(unwrap(wrapper.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不是" + type.getName() + "：" + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            Object stored = wrapper.get();
+            if (!(stored instanceof CacheEntry) || !shouldRefreshEarly((CacheEntry<?>) stored)) {
+                return (T) unwrap(stored);
+            }
+            // 提前刷新，已有线程在刷新时直接返回旧值
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(key, future) != null) {
+                return (T) unwrap(stored);
+            }
+            return (T) lead(key, valueLoader, future, false);
+        }
+
+        // 未命中，同一个key只有一个线程查询
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return (T) await(key, valueLoader, existing);
+        }
+        return (T) lead(key, valueLoader, future, true);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, wrap(value, 0));
+        return existing == null ? null : new SimpleValueWrapper(unwrap(existing.get()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    /**
+     * 执行查询并通知等待的线程
+     * @param key 键
+     * @param valueLoader 查询
+     * @param future 查询结果
+     * @param miss 是否未命中，未命中时才使用分布式锁
+     * @return
+     */
+    private Object lead(Object key, Callable<?> valueLoader, CompletableFuture<Object> future, boolean miss) {
+        try {
+            Object value = miss && lockUtils != null ? loadWithLock(key, valueLoader) : load(key, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // 等待的线程同样收到异常
+            future.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 等待其他线程的查询结果
+     */
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    /**
+     * 查询并写入缓存，记录查询耗时
+     */
+    private Object load(Object key, Callable<?> valueLoader) throws Exception {
+        long start = System.currentTimeMillis();
+        Object value = valueLoader.call();
+        delegate.put(key, wrap(value, System.currentTimeMillis() - start));
+        return value;
+    }
+
+    /**
+     * 拿到分布式锁后查询；没拿到时等待其他节点写入缓存，超时后自行查询
+     */
+    private Object loadWithLock(Object key, Callable<?> valueLoader) throws Exception {
+
+        String lockName = "cache:" + getName() + ":" + key;
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        while (true) {
+            try (RedisLockUtils.Lock lock = lockUtils.tryLock(lockName)) {
+                if (lock != null) {
+                    // 等锁期间其他节点可能已经写入
+                    ValueWrapper wrapper = delegate.get(key);
+                    return wrapper != null ? unwrap(wrapper.get()) : load(key, valueLoader);
+                }
+            }
+            Thread.sleep(LOCK_POLL_MILLIS);
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                return unwrap(wrapper.get());
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return load(key, valueLoader);
+            }
+        }
+    }
+
+    /**
+     * XFetch：now - delta * beta * ln(rand) >= expireAt 时提前刷新
+     */
+    private boolean shouldRefreshEarly(CacheEntry<?> entry) {
+        if (beta <= 0 || entry.expireAt <= 0) {
+            return false;
+        }
+        double gap = -entry.delta * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.expireAt;
+    }
+
+    private CacheEntry<Object> wrap(Object value, long delta) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        return new CacheEntry<>(value, delta, expireAt);
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof CacheEntry ? ((CacheEntry<?>) stored).value : stored;
+    }
+
+    /**
+     * 缓存条目
+     * 缓存的值类型固定时，按CacheEntry<值类型>序列化，不需要写入类名
+     */
+    public static class CacheEntry<V> {
+
+        /** 缓存值 */
+        private V value;
+        /** 查询耗时(毫秒) */
+        private long delta;
+        /** 过期时间戳(毫秒)，0表示不过期 */
+        private long expireAt;
+
+        private CacheEntry() {
+        }
+
+        CacheEntry(V value, long delta, long expireAt) {
+            this.value = value;
+            this.delta = delta;
+            this.expireAt = expireAt;
+        }
+    }
+}
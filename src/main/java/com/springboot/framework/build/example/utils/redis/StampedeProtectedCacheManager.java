@@ -0,0 +1,49 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.springboot.framework.build.example.utils.RedisLockUtils;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.Map;
+
+/**************************************************************
+ * 创建日期：2026/10/18 19:00
+ * 作    者：agent
+ * 功能描述：防击穿缓存管理器
+ * 在RedisCacheManager的基础上，将每个缓存包装为StampedeProtectedCache
+ **************************************************************/
+public class StampedeProtectedCacheManager extends RedisCacheManager {
+
+    /** XFetch系数 */
+    private final double beta;
+    /** 分布式锁，为null时不使用 */
+    private final RedisLockUtils lockUtils;
+    /** 等待分布式锁的最长时间(毫秒) */
+    private final long lockWaitMillis;
+
+    /**
+     * @param cacheWriter 缓存读写
+     * @param defaultConfiguration 默认配置
+     * @param initialConfigurations 每个缓存单独的配置（过期时间）
+     * @param beta XFetch系数，小于等于0时不提前刷新
+     * @param lockUtils 分布式锁，为null时不使用
+     * @param lockWaitMillis 等待分布式锁的最长时间(毫秒)
+     */
+    public StampedeProtectedCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultConfiguration,
+                                         Map<String, RedisCacheConfiguration> initialConfigurations, double beta,
+                                         RedisLockUtils lockUtils, long lockWaitMillis) {
+        super(cacheWriter, defaultConfiguration, initialConfigurations);
+        this.beta = beta;
+        this.lockUtils = lockUtils;
+        this.lockWaitMillis = lockWaitMillis;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        long ttlMillis = cache instanceof RedisCache ? ((RedisCache) cache).getCacheConfiguration().getTtl().toMillis() : 0;
+        return new StampedeProtectedCache(super.decorateCache(cache), ttlMillis, beta, lockUtils, lockWaitMillis);
+    }
+}
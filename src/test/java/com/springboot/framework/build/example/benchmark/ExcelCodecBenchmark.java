@@ -0,0 +1,165 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.utils.ExcelStreamWriter;
+import com.springboot.framework.build.example.utils.ExcelTestRow;
+import com.springboot.framework.build.example.utils.annotation.ExcelField;
+import com.springboot.framework.build.example.utils.excel.ExcelRowCodec;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 4:10
+ * 作    者：agent
+ * 功能描述：excel行编解码，单位为每秒单元格数
+ * reflectionValues / codecValues   只取单元格的值，不写入sheet：
+ *   原来的方式（每个单元格Field.get，Date每次new SimpleDateFormat，全部转为文本）与ExcelRowCodec.cellValues
+ * reflectionWrite / typedWrite     写入SXSSF sheet：
+ *   原来的方式（全部写为文本单元格）与ExcelStreamWriter（数值、日期按类型写入，共用样式）
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main ExcelCodecBenchmark
+ **************************************************************/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelCodecBenchmark {
+
+    /** 每次调用的行数 */
+    private static final int ROWS = 1000;
+    /** ExcelTestRow的列数 */
+    private static final int COLUMNS = 5;
+    /** 每个sheet写入的行数，超出后换sheet */
+    private static final int SHEET_ROWS = 500_000;
+
+    private List<ExcelTestRow> data;
+    private List<Field> fields;
+    private ExcelRowCodec<ExcelTestRow> codec;
+    private Object[] values;
+
+    private ExcelStreamWriter<ExcelTestRow> writer;
+    private SXSSFWorkbook workbook;
+    private Sheet sheet;
+    private int rowNum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        data = new ArrayList<>(ROWS);
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15);
+        for (int i = 0; i < ROWS; i++) {
+            data.add(new ExcelTestRow((long) i, "name" + i, i * 1234.5,
+                    time.plusSeconds(i), new Date(1_700_000_000_000L + i * 1000L)));
+        }
+
+        // 与原来的fieldList一致：带注解的字段按column排序
+        fields = new ArrayList<>();
+        for (Field field : ExcelTestRow.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelField.class)) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        fields.sort(Comparator.comparingInt(field -> field.getAnnotation(ExcelField.class).column()));
+
+        codec = ExcelRowCodec.of(ExcelTestRow.class);
+        values = new Object[codec.size()];
+    }
+
+    @Setup(Level.Iteration)
+    public void openWorkbooks() {
+        writer = new ExcelStreamWriter<>(ExcelTestRow.class, SHEET_ROWS, ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW);
+        workbook = new SXSSFWorkbook(ExcelStreamWriter.DEFAULT_ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        sheet = workbook.createSheet();
+        rowNum = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeWorkbooks() {
+        writer.close();
+        workbook.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public int reflectionValues() throws IllegalAccessException {
+        int length = 0;
+        for (ExcelTestRow row : data) {
+            for (Field field : fields) {
+                String text = legacyText(field, field.get(row));
+                length += text == null ? 0 : text.length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public Object codecValues() {
+        Object last = null;
+        for (ExcelTestRow row : data) {
+            last = codec.cellValues(row, values)[COLUMNS - 1];
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public int reflectionWrite() throws IllegalAccessException {
+        for (ExcelTestRow data : this.data) {
+            if (rowNum >= SHEET_ROWS) {
+                sheet = workbook.createSheet();
+                rowNum = 0;
+            }
+            Row row = sheet.createRow(rowNum++);
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                String text = legacyText(field, field.get(data));
+                Cell cell = row.createCell(i);
+                if (text != null) {
+                    cell.setCellValue(text);
+                }
+            }
+        }
+        return rowNum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public long typedWrite() {
+        for (ExcelTestRow row : data) {
+            writer.write(row);
+        }
+        return writer.getRowCount();
+    }
+
+    /**
+     * 原来writeData中单元格文本的生成方式
+     */
+    private static String legacyText(Field field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (field.getType() == Date.class) {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format((Date) value);
+        } else if (field.getType() == LocalDateTime.class) {
+            return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format((LocalDateTime) value);
+        }
+        return value.toString();
+    }
+}
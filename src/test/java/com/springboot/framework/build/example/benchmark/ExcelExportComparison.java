@@ -0,0 +1,129 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.utils.CsvUtils;
+import com.springboot.framework.build.example.utils.ExcelUtils;
+import com.springboot.framework.build.example.utils.ExcelTestRow;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**************************************************************
+ * 创建日期：2026/10/19 1:20
+ * 作    者：agent
+ * 功能描述：excel导出方式对比：堆峰值、首字节时间、总耗时
+ * xssf   ExcelUtils.exportExcel，整个workbook在内存中生成（writeHeader/writeData）
+ * stream ExcelUtils.exportExcelStream，SXSSF，超出窗口的行写入临时文件
+ * csv    CsvUtils.exportCsv，边生成边输出
+ * 堆峰值受之前运行的影响，每种方式单独启动一个JVM，例如：
+ * java -Xmx4g -cp target/test-classes:target/classes:<依赖> \
+ *   com.springboot.framework.build.example.benchmark.ExcelExportComparison stream 300000
+ * 响应内容只计数不保存，首字节时间为开始导出到第一次写出响应内容的时间，不含表头提交
+ **************************************************************/
+public class ExcelExportComparison {
+
+    public static void main(String[] args) throws Exception {
+
+        String mode = args.length > 0 ? args[0] : "stream";
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 300_000;
+
+        List<ExcelTestRow> data = rows(rows);
+        TimingResponse response = new TimingResponse();
+
+        // 数据准备完成后重置堆峰值，两种方式的峰值都包含数据本身
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        long baseline = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            baseline += pool.getUsage().getUsed();
+        }
+
+        response.start = System.nanoTime();
+        switch (mode) {
+            case "xssf":
+                ExcelUtils.exportExcel(data, ExcelTestRow.class, response);
+                break;
+            case "stream":
+                ExcelUtils.exportExcelStream(data, ExcelTestRow.class, response);
+                break;
+            case "csv":
+                CsvUtils.exportCsv(data, ExcelTestRow.class, response);
+                break;
+            default:
+                throw new IllegalArgumentException("mode: xssf | stream | csv");
+        }
+        long end = System.nanoTime();
+
+        // 各内存池的峰值出现在不同时刻，求和是上限
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        System.out.printf("mode=%s rows=%d total=%dms ttfb=%dms bytes=%d baselineHeap=%dMB peakHeap=%dMB%n",
+                mode, rows, (end - response.start) / 1_000_000, (response.firstByte - response.start) / 1_000_000,
+                response.bytes, baseline >> 20, peak >> 20);
+    }
+
+    private static List<ExcelTestRow> rows(int size) {
+        List<ExcelTestRow> rows = new ArrayList<>(size);
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15);
+        for (int i = 0; i < size; i++) {
+            rows.add(new ExcelTestRow((long) i, "name" + i, i * 1234.5,
+                    time.plusSeconds(i), new Date(1_700_000_000_000L + i * 1000L)));
+        }
+        return rows;
+    }
+
+    /**
+     * 记录第一次写出内容的时间，内容只计数
+     */
+    private static class TimingResponse extends MockHttpServletResponse {
+
+        private long start;
+        private long firstByte;
+        private long bytes;
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (firstByte == 0 && len > 0) {
+                    firstByte = System.nanoTime();
+                }
+                bytes += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.utils.ExcelImportUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 0:10
+ * 作    者：agent
+ * 功能描述：批量导入与逐行插入的对比
+ * rowAtATime 一个事务中逐行insert，即原来导入后循环调用MyBatis-Plus的方式
+ * batched    ExcelImportUtils.importList，每batchSize行一次JDBC批量插入、一个事务
+ * 默认使用H2内存数据库，只能反映往返次数和事务的差别；
+ * 对比MySQL时指定 -Dbenchmark.jdbc.url=jdbc:mysql://...&rewriteBatchedStatements=true
+ * -Dbenchmark.jdbc.username -Dbenchmark.jdbc.password，表import_user需要预先创建
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main ExcelImportBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExcelImportBenchmark {
+
+    private static final String SQL = "insert into import_user(id, name, amount) values(?, ?, ?)";
+    private static final ParameterizedPreparedStatementSetter<Row> SETTER = (ps, row) -> {
+        ps.setLong(1, row.id);
+        ps.setString(2, row.name);
+        ps.setDouble(3, row.amount);
+    };
+
+    @Param({"10000", "100000"})
+    public int rows;
+    @Param({"1000"})
+    public int batchSize;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ExcelImportUtils excelImportUtils;
+    private List<Row> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url == null) {
+            dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+            new JdbcTemplate(dataSource).execute("create table import_user(id bigint primary key, name varchar(64), amount double)");
+        } else {
+            dataSource = new DriverManagerDataSource(url, System.getProperty("benchmark.jdbc.username", "root"),
+                    System.getProperty("benchmark.jdbc.password", ""));
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        excelImportUtils = new ExcelImportUtils();
+        ReflectionTestUtils.setField(excelImportUtils, "batchSize", batchSize);
+        ReflectionTestUtils.setField(excelImportUtils, "maxErrors", 1000);
+        ReflectionTestUtils.setField(excelImportUtils, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(excelImportUtils, "transactionManager", transactionManager);
+        excelImportUtils.init();
+
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new Row(i, "user" + i, i * 1.5));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("delete from import_user");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource instanceof EmbeddedDatabase) {
+            ((EmbeddedDatabase) dataSource).shutdown();
+        }
+    }
+
+    @Benchmark
+    public Integer rowAtATime() {
+        return transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Row row : data) {
+                count += jdbcTemplate.update(SQL, ps -> SETTER.setValues(ps, row));
+            }
+            return count;
+        });
+    }
+
+    @Benchmark
+    public long batched() {
+        return excelImportUtils.importList(data, SQL, SETTER, null, null).getSuccess();
+    }
+
+    static class Row {
+
+        final long id;
+        final String name;
+        final double amount;
+
+        Row(long id, String name, double amount) {
+            this.id = id;
+            this.name = name;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.handler.HandlerMetadataRegistry;
+import com.springboot.framework.build.example.utils.annotation.LoginValid;
+import com.springboot.framework.build.example.utils.annotation.RateLimit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 6:30
+ * 作    者：agent
+ * 功能描述：拦截器查找接口注解的开销，单位为每个请求的纳秒数
+ * annotationLookup  每个请求HandlerMethod.getMethodAnnotation取@LoginValid、@RateLimit，即原来的方式
+ * registryLookup    HandlerMetadataRegistry.get，启动时解析的元数据，一次IdentityHashMap查找
+ * 每次调用依次处理 无注解、@LoginValid、@RateLimit 三个接口和一个静态资源；需要分配情况时加 -prof gc
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main HandlerLookupBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlerLookupBenchmark {
+
+    private static final int HANDLERS = 4;
+
+    private HandlerMetadataRegistry registry;
+    private Object[] handlers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+
+        Controller controller = new Controller();
+        handlers = new Object[]{
+                new HandlerMethod(controller, "list"),
+                new HandlerMethod(controller, "profile"),
+                new HandlerMethod(controller, "sms"),
+                new ResourceHttpRequestHandler()
+        };
+
+        // 与启动时onApplicationEvent的结果一致
+        Map<Method, HandlerMetadataRegistry.HandlerMetadata> metadata = new IdentityHashMap<>();
+        for (Object handler : handlers) {
+            if (handler instanceof HandlerMethod) {
+                HandlerMethod handlerMethod = (HandlerMethod) handler;
+                metadata.put(handlerMethod.getMethod(),
+                        ReflectionTestUtils.invokeMethod(HandlerMetadataRegistry.class, "resolve", handlerMethod));
+            }
+        }
+        registry = new HandlerMetadataRegistry();
+        ReflectionTestUtils.setField(registry, "metadata", metadata);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDLERS)
+    public int annotationLookup() {
+        int intercepted = 0;
+        for (Object handler : handlers) {
+            if (!(handler instanceof HandlerMethod)) {
+                continue;
+            }
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            LoginValid loginValid = handlerMethod.getMethodAnnotation(LoginValid.class);
+            RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+            if ((loginValid != null && loginValid.required()) || rateLimit != null) {
+                intercepted++;
+            }
+        }
+        return intercepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDLERS)
+    public int registryLookup() {
+        int intercepted = 0;
+        for (Object handler : handlers) {
+            if (registry.get(handler) != HandlerMetadataRegistry.HandlerMetadata.NONE) {
+                intercepted++;
+            }
+        }
+        return intercepted;
+    }
+
+    /**
+     * 接口
+     */
+    public static class Controller {
+
+        public String list() {
+            return "list";
+        }
+
+        @LoginValid
+        public String profile() {
+            return "profile";
+        }
+
+        @RateLimit(limit = 10, period = 60)
+        public String sms() {
+            return "sms";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import com.springboot.framework.build.example.utils.redis.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 6:50
+ * 作    者：agent
+ * 功能描述：限流判断的耗时分布，看p0.99（目标50µs以内）
+ * backend=stub   令牌桶脚本直接返回申请的令牌数，只统计限流器本身（本地租借、缓存查找、租借时的调用）
+ * backend=redis  真实redis，包含租借令牌的网络往返，默认localhost:6379，
+ *                指定地址：-jvmArgsAppend "-Dredis.test.host=... -Dredis.test.port=..."
+ * keys           桶的数量，每次请求随机选一个，对应按ip、按token限流时的不同客户端
+ * limit足够大，请求都能通过，每50个请求租借一次（rate-limit.lease-size默认值）；
+ * 多线程竞争同一个桶时加 -t 线程数
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main RateLimiterBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final String KEY_PREFIX = "benchmark:rate-limit:";
+    /** 每秒允许的请求数，足够大，请求都能通过 */
+    private static final int LIMIT = 100_000_000;
+
+    @Param({"stub", "redis"})
+    public String backend;
+    @Param({"1", "10000"})
+    public int keys;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate template;
+    private RedisRateLimiter limiter;
+    private String[] keyNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        if ("redis".equals(backend)) {
+            factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                    System.getProperty("redis.test.host", "localhost"),
+                    Integer.getInteger("redis.test.port", 6379)));
+            factory.afterPropertiesSet();
+            template = new StringRedisTemplate(factory);
+            template.afterPropertiesSet();
+        } else {
+            template = new StubTemplate();
+        }
+
+        // 没有MeterRegistry时只输出日志
+        RedisErrorLogger errorLogger = new RedisErrorLogger();
+        ReflectionTestUtils.setField(errorLogger, "registryProvider", new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(errorLogger, "maxLogsPerSecond", 10);
+
+        // 与RedisRateLimiter的默认配置一致
+        limiter = new RedisRateLimiter();
+        ReflectionTestUtils.setField(limiter, "maxLeaseSize", 50);
+        ReflectionTestUtils.setField(limiter, "leaseMillis", 200L);
+        ReflectionTestUtils.setField(limiter, "maximumSize", 100_000L);
+        ReflectionTestUtils.setField(limiter, "redisTemplate", template);
+        ReflectionTestUtils.setField(limiter, "errorLogger", errorLogger);
+        limiter.init();
+
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = KEY_PREFIX + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (factory != null) {
+            for (String key : keyNames) {
+                template.delete(key);
+            }
+            factory.destroy();
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        String key = keys == 1 ? keyNames[0] : keyNames[ThreadLocalRandom.current().nextInt(keys)];
+        return limiter.tryAcquire(key, LIMIT, 1);
+    }
+
+    /**
+     * 脚本直接返回申请的令牌数（ARGV[3]），不访问redis
+     */
+    static class StubTemplate extends StringRedisTemplate {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            return (T) Long.valueOf((String) args[2]);
+        }
+    }
+}
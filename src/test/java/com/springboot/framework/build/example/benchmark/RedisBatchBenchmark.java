@@ -0,0 +1,122 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.utils.RedisUtils;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 5:00
+ * 作    者：agent
+ * 功能描述：批量操作与逐个key操作的往返耗时对比
+ * loopGet / loopHasKey   逐个key GET、EXISTS，每个key一次往返，即原来业务代码循环调用的方式
+ * multiGet / hasKeys     RedisUtils的批量接口，每redis.batch-size个key一次往返
+ * connection=shared      不使用连接池，所有命令共享一个连接，管道时独占该连接
+ * connection=pooled      与application.yml一致的lettuce连接池，管道从池中借出连接
+ * 需要真实redis，默认localhost:6379，连不上时直接失败；
+ * 指定地址：-jvmArgsAppend "-Dredis.test.host=... -Dredis.test.port=..."
+ * 往返耗时受网络影响，对比远程redis时在应用所在机器上运行
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main RedisBatchBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisBatchBenchmark {
+
+    private static final String KEY_PREFIX = "benchmark:batch:";
+
+    @Param({"100", "1000"})
+    public int keys;
+    @Param({"shared", "pooled"})
+    public String connection;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate template;
+    private RedisUtils redisUtils;
+    private List<String> keyList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.test.host", "localhost"),
+                Integer.getInteger("redis.test.port", 6379));
+        if ("pooled".equals(connection)) {
+            // 与application.yml中的spring.redis.lettuce.pool一致
+            GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+            poolConfig.setMaxTotal(16);
+            poolConfig.setMaxIdle(16);
+            poolConfig.setMinIdle(4);
+            poolConfig.setMaxWaitMillis(500);
+            factory = new LettuceConnectionFactory(configuration,
+                    LettucePoolingClientConfiguration.builder().poolConfig(poolConfig).build());
+        } else {
+            factory = new LettuceConnectionFactory(configuration);
+        }
+        factory.afterPropertiesSet();
+        template = new StringRedisTemplate(factory);
+        template.afterPropertiesSet();
+
+        // 批量接口只用到redisTemplate和batchSize
+        redisUtils = new RedisUtils();
+        ReflectionTestUtils.setField(redisUtils, "redisTemplate", template);
+        ReflectionTestUtils.setField(redisUtils, "batchSize", 500);
+
+        keyList = new ArrayList<>(keys);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < keys; i++) {
+            String key = KEY_PREFIX + i;
+            keyList.add(key);
+            values.put(key, "value-" + i);
+        }
+        template.opsForValue().multiSet(values);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        template.delete(keyList);
+        factory.destroy();
+    }
+
+    @Benchmark
+    public List<String> loopGet() {
+        List<String> values = new ArrayList<>(keyList.size());
+        for (String key : keyList) {
+            values.add(template.opsForValue().get(key));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<String> multiGet() {
+        return redisUtils.multiGet(keyList);
+    }
+
+    @Benchmark
+    public List<Boolean> loopHasKey() {
+        List<Boolean> results = new ArrayList<>(keyList.size());
+        for (String key : keyList) {
+            results.add(template.hasKey(key));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Boolean> hasKeys() {
+        return redisUtils.hasKeys(keyList);
+    }
+}
@@ -0,0 +1,125 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.springboot.framework.build.example.config.RedisConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 5:30
+ * 作    者：agent
+ * 功能描述：redis value序列化
+ * format=json/smile        redis.serializer
+ * typed=false              redisValueSerializer，值中写入类名（default typing），即原来的json序列化
+ * typed=true               typedValueSerializer，固定类型，不写入类名
+ * compressThreshold        redis.compress-threshold，0不压缩
+ * lines                    订单明细行数，1约为单个对象，50为较大的缓存值
+ * 每组参数的序列化字节数在setUp时输出（# payload）；需要分配情况时加 -prof gc
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main RedisSerializerBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "smile"})
+    public String format;
+    @Param({"false", "true"})
+    public boolean typed;
+    @Param({"0", "512"})
+    public int compressThreshold;
+    @Param({"1", "50"})
+    public int lines;
+
+    private RedisSerializer<Object> serializer;
+    private Order order;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "serializer", format);
+        ReflectionTestUtils.setField(config, "compressThreshold", compressThreshold);
+        serializer = typed
+                ? (RedisSerializer<Object>) (RedisSerializer<?>) config.typedValueSerializer(Order.class)
+                : config.redisValueSerializer();
+
+        order = new Order(1_000_001L, "U20261018093015", "张三", 2, new Date(1_700_000_000_000L), new ArrayList<>());
+        for (int i = 0; i < lines; i++) {
+            order.lines.add(new OrderLine(10_000L + i, "商品-" + i, "SKU-" + (100_000 + i), i % 5 + 1,
+                    BigDecimal.valueOf(1999L + i * 37L, 2)));
+        }
+        bytes = serializer.serialize(order);
+        System.out.println("# payload " + bytes.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(order);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    /**
+     * 订单
+     */
+    public static class Order {
+
+        private long id;
+        private String orderNo;
+        private String userName;
+        private int status;
+        private Date createTime;
+        private List<OrderLine> lines;
+
+        public Order() {
+        }
+
+        Order(long id, String orderNo, String userName, int status, Date createTime, List<OrderLine> lines) {
+            this.id = id;
+            this.orderNo = orderNo;
+            this.userName = userName;
+            this.status = status;
+            this.createTime = createTime;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * 订单明细
+     */
+    public static class OrderLine {
+
+        private long productId;
+        private String productName;
+        private String sku;
+        private int quantity;
+        private BigDecimal price;
+
+        public OrderLine() {
+        }
+
+        OrderLine(long productId, String productName, String sku, int quantity, BigDecimal price) {
+            this.productId = productId;
+            this.productName = productName;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.springboot.framework.build.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.framework.build.example.config.JsonConfig;
+import com.springboot.framework.build.example.utils.component.ReturnJson;
+import com.springboot.framework.build.example.utils.component.ReturnJsonHttpMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**************************************************************
+ * 创建日期：2026/10/19 2:00
+ * 作    者：agent
+ * 功能描述：ReturnJson分页数据序列化
+ * messageConverter     MappingJackson2HttpMessageConverter，原来的输出方式
+ * returnJsonConverter  ReturnJsonHttpMessageConverter，预先序列化的前缀，达到json.stream.threshold的集合逐个元素写入
+ * profile=default      JsonConfig默认配置；profile=performance 开启json.performance（Afterburner、时间类型直接输出）
+ * 响应内容只计数不保存；需要分配情况时加 -prof gc
+ * 运行：mvn test-compile 后
+ * java -cp target/test-classes:target/classes:<依赖> org.openjdk.jmh.Main ReturnJsonBenchmark
+ **************************************************************/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReturnJsonBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    @Param({"default", "performance"})
+    public String profile;
+
+    private MappingJackson2HttpMessageConverter messageConverter;
+    private ReturnJsonHttpMessageConverter returnJsonConverter;
+    private ReturnJson page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        JsonConfig jsonConfig = new JsonConfig();
+        ReflectionTestUtils.setField(jsonConfig, "performance", "performance".equals(profile));
+        ObjectMapper objectMapper = ReflectionTestUtils.invokeMethod(jsonConfig, "objectMapper");
+
+        messageConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        // 与JsonConfig的默认值一致
+        returnJsonConverter = new ReturnJsonHttpMessageConverter(objectMapper, 1000, 500);
+
+        List<Dto> rows = new ArrayList<>(size);
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15);
+        for (int i = 0; i < size; i++) {
+            rows.add(new Dto(i, "name-" + i, BigDecimal.valueOf(i * 1234L, 2), i % 3,
+                    i % 5 == 0 ? null : "备注" + i, time.plusSeconds(i), new Date(1_700_000_000_000L + i * 1000L)));
+        }
+        page = new ReturnJson(rows);
+    }
+
+    @Benchmark
+    public long messageConverter() throws IOException {
+        CountingMessage message = new CountingMessage();
+        messageConverter.write(page, MediaType.APPLICATION_JSON, message);
+        return message.body.count;
+    }
+
+    @Benchmark
+    public long returnJsonConverter() throws IOException {
+        CountingMessage message = new CountingMessage();
+        returnJsonConverter.write(page, MediaType.APPLICATION_JSON, message);
+        return message.body.count;
+    }
+
+    /**
+     * 响应内容只计数
+     */
+    private static class CountingMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final CountingOutputStream body = new CountingOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * 分页数据中的一行
+     */
+    public static class Dto {
+
+        private final long id;
+        private final String name;
+        private final BigDecimal amount;
+        private final int status;
+        private final String remark;
+        private final LocalDateTime createTime;
+        private final Date updateTime;
+
+        Dto(long id, String name, BigDecimal amount, int status, String remark, LocalDateTime createTime, Date updateTime) {
+            this.id = id;
+            this.name = name;
+            this.amount = amount;
+            this.status = status;
+            this.remark = remark;
+            this.createTime = createTime;
+            this.updateTime = updateTime;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public Date getUpdateTime() {
+            return updateTime;
+        }
+    }
+}
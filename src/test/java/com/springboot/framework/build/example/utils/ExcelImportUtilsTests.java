@@ -0,0 +1,150 @@
+package com.springboot.framework.build.example.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**************************************************************
+ * 创建日期：2026/10/18 23:50
+ * 作    者：agent
+ * 功能描述：ExcelImportUtils测试
+ * 使用H2内存数据库，id为主键，name不能为空
+ **************************************************************/
+class ExcelImportUtilsTests {
+
+    private static final String SQL = "insert into import_user(id, name) values(?, ?)";
+    private static final ParameterizedPreparedStatementSetter<User> SETTER = (ps, user) -> {
+        ps.setInt(1, user.id);
+        ps.setString(2, user.name);
+    };
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private ExcelImportUtils excelImportUtils;
+
+    @BeforeEach
+    void setUp() {
+
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table import_user(id int primary key, name varchar(20) not null)");
+        transactionManager = new DataSourceTransactionManager(database);
+
+        excelImportUtils = new ExcelImportUtils();
+        ReflectionTestUtils.setField(excelImportUtils, "batchSize", 3);
+        ReflectionTestUtils.setField(excelImportUtils, "maxErrors", 100);
+        ReflectionTestUtils.setField(excelImportUtils, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(excelImportUtils, "transactionManager", transactionManager);
+        excelImportUtils.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void insertsAllValidRowsInBatches() {
+
+        List<Long> progress = new ArrayList<>();
+        ExcelImportUtils.ImportResult result = excelImportUtils.importList(users(7), SQL, SETTER, null,
+                r -> progress.add(r.getSuccess()));
+
+        assertEquals(7, result.getTotal());
+        assertEquals(7, result.getSuccess());
+        assertEquals(0, result.getFailed());
+        assertEquals(Arrays.asList(3L, 6L, 7L), progress);
+        assertEquals(7, count());
+    }
+
+    @Test
+    void skipsRowsFailingValidation() {
+
+        List<User> users = users(5);
+        users.get(1).name = "";
+
+        ExcelImportUtils.ImportResult result = excelImportUtils.importList(users, SQL, SETTER,
+                user -> user.name.isEmpty() ? "姓名不能为空" : null, null);
+
+        assertEquals(4, result.getSuccess());
+        assertEquals(1, result.getFailed());
+        // 第1行为表头，数据从第2行开始
+        assertEquals(3, result.getErrors().get(0).getRowNum());
+        assertEquals("姓名不能为空", result.getErrors().get(0).getMessage());
+        assertEquals(4, count());
+    }
+
+    @Test
+    void badRowDoesNotAbortBatchOrImport() {
+
+        List<User> users = users(7);
+        // 第二批中的一行主键重复，另一行违反非空约束
+        users.get(4).id = users.get(0).id;
+        users.get(5).name = null;
+
+        ExcelImportUtils.ImportResult result = excelImportUtils.importList(users, SQL, SETTER, null, null);
+
+        assertEquals(7, result.getTotal());
+        assertEquals(5, result.getSuccess());
+        assertEquals(2, result.getFailed());
+        assertEquals(Arrays.asList(6, 7), result.getErrors().stream()
+                .map(ExcelImportUtils.RowError::getRowNum).collect(Collectors.toList()));
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("写入失败："));
+        // 同一批中的其他行和之后的批次照常写入
+        assertEquals(Arrays.asList(1, 2, 3, 4, 7), jdbcTemplate.queryForList("select id from import_user order by id", Integer.class));
+    }
+
+    @Test
+    void committedBatchesSurviveCallerRollback() {
+
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.execute(status -> {
+            excelImportUtils.importList(users(4), SQL, SETTER, null, null);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // 每批在独立的新事务中提交，不随调用方的事务回滚
+        assertEquals(4, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from import_user", Integer.class);
+    }
+
+    private static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            users.add(new User(i, "user" + i));
+        }
+        return users;
+    }
+
+    static class User {
+
+        Integer id;
+        String name;
+
+        User(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.springboot.framework.build.example.utils;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**************************************************************
+ * 创建日期：2026/10/19 0:40
+ * 作    者：agent
+ * 功能描述：ExcelParallelUtils测试
+ * 并行导出与ExcelStreamWriter串行导出的每个sheet、每个单元格一致
+ **************************************************************/
+class ExcelParallelUtilsTests {
+
+    private static final int SHEET_ROWS = 10;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelSheetsMatchSerialExport() throws Exception {
+
+        List<ExcelTestRow> data = rows(35);
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        ExcelParallelUtils.exportExcel(data, ExcelTestRow.class, parallel, SHEET_ROWS, pool);
+
+        List<List<List<String>>> sheets = read(parallel.toByteArray());
+        assertEquals(4, sheets.size());
+        assertEquals(read(serial(data)), sheets);
+    }
+
+    @Test
+    void iteratorSourceMatchesListSource() throws Exception {
+
+        List<ExcelTestRow> data = rows(25);
+        ByteArrayOutputStream fromList = new ByteArrayOutputStream();
+        ExcelParallelUtils.exportExcel(data, ExcelTestRow.class, fromList, SHEET_ROWS, pool);
+        ByteArrayOutputStream fromIterator = new ByteArrayOutputStream();
+        ExcelParallelUtils.exportExcel(data.iterator(), ExcelTestRow.class, fromIterator, SHEET_ROWS, pool);
+
+        assertEquals(read(fromList.toByteArray()), read(fromIterator.toByteArray()));
+    }
+
+    @Test
+    void emptyDataWritesHeaderOnly() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelParallelUtils.exportExcel(new ArrayList<ExcelTestRow>(), ExcelTestRow.class, out, SHEET_ROWS, pool);
+
+        List<List<List<String>>> sheets = read(out.toByteArray());
+        assertEquals(1, sheets.size());
+        assertEquals(1, sheets.get(0).size());
+    }
+
+    @Test
+    void zipHasOneFilePerPartitionInOrder() throws Exception {
+
+        List<ExcelTestRow> data = rows(95);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelParallelUtils.exportZip(data, ExcelTestRow.class, out, SHEET_ROWS, pool);
+
+        List<String> names = new ArrayList<>();
+        List<String> firstIds = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                ByteArrayOutputStream file = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = zip.read(buffer)) > 0) {
+                    file.write(buffer, 0, n);
+                }
+                List<List<String>> sheet = read(file.toByteArray()).get(0);
+                firstIds.add(sheet.get(1).get(0));
+            }
+        }
+        assertEquals(10, names.size());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals("about-" + (i + 1) + ".xlsx", names.get(i));
+            assertEquals(String.valueOf(i * SHEET_ROWS), firstIds.get(i));
+        }
+    }
+
+    private static byte[] serial(List<ExcelTestRow> data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExcelStreamWriter<ExcelTestRow> writer = new ExcelStreamWriter<>(ExcelTestRow.class, SHEET_ROWS, 5)) {
+            for (ExcelTestRow row : data) {
+                writer.write(row);
+            }
+            writer.writeTo(out);
+        }
+        return out.toByteArray();
+    }
+
+    static List<ExcelTestRow> rows(int size) {
+        List<ExcelTestRow> rows = new ArrayList<>(size);
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15);
+        for (int i = 0; i < size; i++) {
+            rows.add(new ExcelTestRow((long) i, "name" + i, i * 1234.5,
+                    time.plusMinutes(i), new Date(1_700_000_000_000L + i * 60_000L)));
+        }
+        return rows;
+    }
+
+    /**
+     * 读取每个sheet每个单元格的显示文本和样式格式
+     */
+    private static List<List<List<String>>> read(byte[] bytes) throws IOException {
+        DataFormatter formatter = new DataFormatter();
+        List<List<List<String>>> sheets = new ArrayList<>();
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            for (Sheet sheet : workbook) {
+                List<List<String>> rows = new ArrayList<>();
+                for (Row row : sheet) {
+                    List<String> cells = new ArrayList<>();
+                    for (Cell cell : row) {
+                        cells.add(formatter.formatCellValue(cell));
+                        cells.add(cell.getCellStyle().getDataFormatString());
+                    }
+                    rows.add(cells);
+                }
+                sheets.add(rows);
+            }
+        }
+        return sheets;
+    }
+}
@@ -0,0 +1,61 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.annotation.ExcelField;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**************************************************************
+ * 创建日期：2026/10/19 0:30
+ * 作    者：agent
+ * 功能描述：excel测试数据
+ * 覆盖文本列、声明了format的数值列、日期列
+ **************************************************************/
+public class ExcelTestRow {
+
+    @ExcelField(column = 0, value = "编号")
+    private Long id;
+
+    @ExcelField(column = 1, value = "姓名")
+    private String name;
+
+    @ExcelField(column = 2, value = "金额", format = "#,##0.00")
+    private Double amount;
+
+    @ExcelField(column = 3, value = "创建时间")
+    private LocalDateTime createTime;
+
+    @ExcelField(column = 4, value = "更新时间", format = "yyyy-MM-dd HH:mm:ss")
+    private Date updateTime;
+
+    public ExcelTestRow() {
+    }
+
+    public ExcelTestRow(Long id, String name, Double amount, LocalDateTime createTime, Date updateTime) {
+        this.id = id;
+        this.name = name;
+        this.amount = amount;
+        this.createTime = createTime;
+        this.updateTime = updateTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+}
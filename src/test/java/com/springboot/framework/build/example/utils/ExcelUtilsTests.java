@@ -0,0 +1,172 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.excel.ExcelRowListener;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**************************************************************
+ * 创建日期：2026/10/19 1:00
+ * 作    者：agent
+ * 功能描述：ExcelUtils导入测试
+ * 导出后用SAX和DOM两种方式导入，字段值与导出前一致
+ **************************************************************/
+class ExcelUtilsTests {
+
+    private static final String[] HEADER = {"编号", "姓名", "金额", "创建时间", "更新时间"};
+
+    @Test
+    void saxImportRoundTripsExportedRows() throws Exception {
+
+        List<ExcelTestRow> rows = ExcelParallelUtilsTests.rows(1200);
+        MockMultipartFile file = file(export(rows));
+
+        List<ExcelTestRow> imported = new ArrayList<>();
+        ExcelUtils.importExcel(file, ExcelTestRow.class, imported::add);
+
+        assertRowsEqual(rows, imported);
+    }
+
+    @Test
+    void domImportRoundTripsExportedRows() throws Exception {
+
+        List<ExcelTestRow> rows = ExcelParallelUtilsTests.rows(50);
+
+        assertRowsEqual(rows, ExcelUtils.importExcel(file(export(rows)), ExcelTestRow.class));
+    }
+
+    @Test
+    void largeGeneralNumbersAreNotScientific() throws Exception {
+
+        // 常规格式的数值单元格，11位以上在DataFormatter中会显示为科学计数法
+        byte[] bytes = workbook(sheet -> {
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(123456789012345d);
+            row.createCell(1).setCellValue("大数");
+            row.createCell(2).setCellValue(98765432109.25);
+            row = sheet.createRow(2);
+            row.createCell(0).setCellValue(100000000000d);
+            row.createCell(1).setCellValue(12345678901d);
+            row.createCell(2).setCellValue(0.1 + 0.2);
+        });
+
+        List<ExcelTestRow> sax = new ArrayList<>();
+        ExcelUtils.importExcel(file(bytes), ExcelTestRow.class, sax::add);
+        List<ExcelTestRow> dom = ExcelUtils.importExcel(file(bytes), ExcelTestRow.class);
+
+        for (List<ExcelTestRow> imported : Arrays.asList(sax, dom)) {
+            assertEquals(2, imported.size());
+            assertEquals(Long.valueOf(123456789012345L), imported.get(0).getId());
+            assertEquals(Double.valueOf(98765432109.25), imported.get(0).getAmount());
+            assertEquals(Long.valueOf(100000000000L), imported.get(1).getId());
+            assertEquals("12345678901", imported.get(1).getName());
+            // 与Excel显示一致，保留15位有效数字
+            assertEquals(Double.valueOf(0.3), imported.get(1).getAmount());
+            assertNull(imported.get(1).getCreateTime());
+        }
+    }
+
+    @Test
+    void saxImportReportsRowNumbersOfBadRows() throws Exception {
+
+        byte[] bytes = workbook(sheet -> {
+            sheet.createRow(1).createCell(0).setCellValue(1);
+            sheet.createRow(2).createCell(0).setCellValue("not a number");
+            sheet.createRow(3).createCell(0).setCellValue(3);
+        });
+
+        List<Integer> rowNums = new ArrayList<>();
+        List<Integer> errorRows = new ArrayList<>();
+        ExcelUtils.importExcelWithRows(file(bytes), ExcelTestRow.class, new ExcelRowListener<ExcelTestRow>() {
+            @Override
+            public void onRow(int rowNum, ExcelTestRow data) {
+                rowNums.add(rowNum);
+            }
+
+            @Override
+            public boolean onError(int rowNum, String message) {
+                errorRows.add(rowNum);
+                return true;
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 4), rowNums);
+        assertEquals(Collections.singletonList(3), errorRows);
+    }
+
+    @Test
+    void rejectsWrongHeader() throws Exception {
+
+        Workbook workbook = new XSSFWorkbook();
+        workbook.createSheet().createRow(0).createCell(0).setCellValue("错误的表头");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+
+        Exception e = assertThrows(Exception.class,
+                () -> ExcelUtils.importExcel(file(out.toByteArray()), ExcelTestRow.class, row -> { }));
+        assertEquals("Excel表头错误", e.getMessage());
+    }
+
+    private static void assertRowsEqual(List<ExcelTestRow> expected, List<ExcelTestRow> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ExcelTestRow e = expected.get(i);
+            ExcelTestRow a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getAmount(), a.getAmount());
+            assertEquals(e.getCreateTime(), a.getCreateTime());
+            assertEquals(e.getUpdateTime(), a.getUpdateTime());
+        }
+    }
+
+    private static byte[] export(List<ExcelTestRow> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 窗口小于行数，保证经过SXSSF的临时文件
+        try (ExcelStreamWriter<ExcelTestRow> writer = new ExcelStreamWriter<>(ExcelTestRow.class, ExcelStreamWriter.MAX_SHEET_ROWS, 100)) {
+            for (ExcelTestRow row : rows) {
+                writer.write(row);
+            }
+            writer.writeTo(out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 带表头的workbook，数据行由rows写入
+     */
+    private static byte[] workbook(Consumer<Sheet> rows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+            rows.accept(sheet);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static MockMultipartFile file(byte[] bytes) {
+        return new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", bytes);
+    }
+}
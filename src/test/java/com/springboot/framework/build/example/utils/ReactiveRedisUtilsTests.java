@@ -0,0 +1,89 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisNearCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**************************************************************
+ * 创建日期：2026/10/18 23:40
+ * 作    者：agent
+ * 功能描述：ReactiveRedisUtils批量过期测试
+ * key为a、c时EXPIRE返回true，其他为false
+ **************************************************************/
+class ReactiveRedisUtilsTests {
+
+    private ReactiveStringRedisTemplate template;
+    private RedisNearCache nearCache;
+    private ReactiveRedisUtils reactiveRedisUtils;
+
+    @BeforeEach
+    void setUp() {
+
+        template = mock(ReactiveStringRedisTemplate.class);
+        nearCache = mock(RedisNearCache.class);
+        when(template.expire(anyString(), any(Duration.class)))
+                .thenAnswer(call -> Mono.just(Arrays.asList("a", "c").contains(call.<String>getArgument(0))));
+        when(nearCache.evictLocal(anyCollection())).thenReturn(Collections.emptyList());
+
+        reactiveRedisUtils = new ReactiveRedisUtils();
+        ReflectionTestUtils.setField(reactiveRedisUtils, "reactiveStringRedisTemplate", template);
+        ReflectionTestUtils.setField(reactiveRedisUtils, "nearCache", nearCache);
+        ReflectionTestUtils.setField(reactiveRedisUtils, "batchSize", 2);
+        ReflectionTestUtils.setField(reactiveRedisUtils, "concurrency", 4);
+    }
+
+    @Test
+    void expireReturnsResultsInKeyOrder() {
+
+        List<Boolean> results = reactiveRedisUtils.expire(Arrays.asList("a", "b", "c"), 60).block();
+
+        assertEquals(Arrays.asList(true, false, true), results);
+        verify(template).expire("b", Duration.ofSeconds(60));
+        verify(nearCache).evictLocal(Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    void expireWithZeroTimeDoesNothing() {
+
+        List<Boolean> results = reactiveRedisUtils.expire(Arrays.asList("a", "b"), 0).block();
+
+        // EXPIRE 0会删除key，time小于等于0时不能发出任何命令
+        assertEquals(Arrays.asList(false, false), results);
+        verifyNoInteractions(template, nearCache);
+    }
+
+    @Test
+    void expireWithNegativeTimeDoesNothing() {
+
+        List<Boolean> results = reactiveRedisUtils.expire(Collections.singletonList("a"), -1).block();
+
+        assertEquals(Collections.singletonList(false), results);
+        verifyNoInteractions(template, nearCache);
+    }
+
+    @Test
+    void expireWithNoKeysReturnsEmpty() {
+
+        List<Boolean> results = reactiveRedisUtils.expire(Collections.emptyList(), 60).block();
+
+        assertEquals(Collections.emptyList(), results);
+        verifyNoInteractions(template);
+    }
+}
@@ -0,0 +1,218 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import com.springboot.framework.build.example.utils.redis.RedisTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**************************************************************
+ * 创建日期：2026/10/19 3:10
+ * 作    者：agent
+ * 功能描述：RedisLockUtils测试
+ * 加锁、释放、续期的语义需要真实redis，redis不可用时跳过
+ **************************************************************/
+class RedisLockUtilsTests {
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate template;
+    private final List<RedisLockUtils> lockUtils = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (RedisLockUtils utils : lockUtils) {
+            utils.destroy();
+        }
+        if (template != null) {
+            for (String name : names) {
+                template.delete(key(name));
+                template.delete(key(name) + ":fence");
+            }
+        }
+        if (factory != null) {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void excludesOtherHoldersUntilClosed() {
+
+        RedisLockUtils first = lockUtils(30000, new SimpleMeterRegistry());
+        RedisLockUtils second = lockUtils(30000, new SimpleMeterRegistry());
+        String name = name();
+
+        RedisLockUtils.Lock lock = first.tryLock(name);
+        assertNotNull(lock);
+        assertTrue(lock.isHeld());
+        // 另一个节点和同一个节点都拿不到
+        assertNull(second.tryLock(name));
+        assertNull(first.tryLock(name));
+
+        lock.close();
+        assertFalse(lock.isHeld());
+        try (RedisLockUtils.Lock next = second.tryLock(name)) {
+            assertNotNull(next);
+        }
+    }
+
+    @Test
+    void fencingTokensIncrease() {
+
+        RedisLockUtils utils = lockUtils(30000, new SimpleMeterRegistry());
+        String name = name();
+
+        long previous = 0;
+        for (int i = 0; i < 5; i++) {
+            try (RedisLockUtils.Lock lock = utils.tryLock(name)) {
+                assertNotNull(lock);
+                assertTrue(lock.getFencingToken() > previous);
+                previous = lock.getFencingToken();
+            }
+        }
+    }
+
+    @Test
+    void closeDoesNotReleaseAnotherHoldersLock() {
+
+        RedisLockUtils first = lockUtils(30000, new SimpleMeterRegistry());
+        RedisLockUtils second = lockUtils(30000, new SimpleMeterRegistry());
+        String name = name();
+
+        RedisLockUtils.Lock stale = first.tryLock(name);
+        assertNotNull(stale);
+        // 模拟租期到期后被另一个节点拿到
+        template.delete(key(name));
+        RedisLockUtils.Lock current = second.tryLock(name);
+        assertNotNull(current);
+        assertTrue(current.getFencingToken() > stale.getFencingToken());
+
+        stale.close();
+        assertTrue(current.isHeld());
+        assertNull(first.tryLock(name));
+        current.close();
+    }
+
+    @Test
+    void watchdogRenewsBeyondLease() throws InterruptedException {
+
+        // 租期300毫秒，每100毫秒续期
+        RedisLockUtils first = lockUtils(300, new SimpleMeterRegistry());
+        RedisLockUtils second = lockUtils(300, new SimpleMeterRegistry());
+        String name = name();
+
+        try (RedisLockUtils.Lock lock = first.tryLock(name)) {
+            assertNotNull(lock);
+            Thread.sleep(1000);
+            assertTrue(lock.isHeld());
+            assertNull(second.tryLock(name));
+        }
+    }
+
+    @Test
+    void detectsLostLock() throws InterruptedException {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RedisLockUtils utils = lockUtils(300, registry);
+        String name = name();
+
+        RedisLockUtils.Lock lock = utils.tryLock(name);
+        assertNotNull(lock);
+        template.delete(key(name));
+        // 下一次续期时发现
+        Thread.sleep(300);
+        assertFalse(lock.isHeld());
+        assertEquals(1.0, registry.get("redis.lock.lost").functionCounter().count());
+        assertEquals(0.0, registry.get("redis.lock.held").gauge().value());
+    }
+
+    @Test
+    void waitsForRelease() throws Exception {
+
+        RedisLockUtils first = lockUtils(30000, new SimpleMeterRegistry());
+        RedisLockUtils second = lockUtils(30000, new SimpleMeterRegistry());
+        String name = name();
+
+        RedisLockUtils.Lock lock = first.tryLock(name);
+        assertNotNull(lock);
+        CompletableFuture<RedisLockUtils.Lock> waiting = CompletableFuture.supplyAsync(() -> second.tryLock(name, 5000));
+        Thread.sleep(200);
+        lock.close();
+        try (RedisLockUtils.Lock next = waiting.get(5, TimeUnit.SECONDS)) {
+            assertNotNull(next);
+            assertTrue(next.getFencingToken() > lock.getFencingToken());
+        }
+    }
+
+    @Test
+    void publishesStats() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RedisLockUtils utils = lockUtils(30000, registry);
+        String name = name();
+
+        try (RedisLockUtils.Lock lock = utils.tryLock(name)) {
+            assertNotNull(lock);
+            assertEquals(1.0, registry.get("redis.lock.held").gauge().value());
+            assertNull(utils.tryLock(name, 50));
+        }
+
+        assertEquals(2.0, registry.get("redis.lock.requests").functionCounter().count());
+        assertEquals(1.0, registry.get("redis.lock.acquired").functionCounter().count());
+        assertEquals(1.0, registry.get("redis.lock.timeouts").functionCounter().count());
+        assertTrue(registry.get("redis.lock.contentions").functionCounter().count() > 0);
+        assertEquals(0.0, registry.get("redis.lock.held").gauge().value());
+        assertEquals(1, registry.get("redis.lock.wait").tag("result", "acquired").timer().count());
+        assertEquals(1, registry.get("redis.lock.wait").tag("result", "timeout").timer().count());
+        assertTrue(registry.get("redis.lock.wait").tag("result", "timeout").timer().totalTime(TimeUnit.MILLISECONDS) >= 50);
+        // 与getStats()一致
+        assertEquals(2L, utils.getStats().get("requests"));
+        assertEquals(1L, utils.getStats().get("timeouts"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisLockUtils lockUtils(long leaseMillis, MeterRegistry registry) {
+        if (template == null) {
+            template = RedisTestSupport.template(factory = RedisTestSupport.connectOrSkip());
+        }
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+        RedisLockUtils utils = new RedisLockUtils();
+        ReflectionTestUtils.setField(utils, "leaseMillis", leaseMillis);
+        ReflectionTestUtils.setField(utils, "redisTemplate", template);
+        ReflectionTestUtils.setField(utils, "errorLogger", mock(RedisErrorLogger.class));
+        ReflectionTestUtils.setField(utils, "registryProvider", provider);
+        utils.init();
+        lockUtils.add(utils);
+        return utils;
+    }
+
+    private String name() {
+        String name = "test:" + UUID.randomUUID();
+        names.add(name);
+        return name;
+    }
+
+    private static String key(String name) {
+        return "lock:{" + name + "}";
+    }
+}
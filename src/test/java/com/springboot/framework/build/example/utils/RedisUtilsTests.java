@@ -0,0 +1,137 @@
+package com.springboot.framework.build.example.utils;
+
+import com.springboot.framework.build.example.utils.redis.RedisErrorLogger;
+import com.springboot.framework.build.example.utils.redis.RedisNearCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**************************************************************
+ * 创建日期：2026/10/18 23:30
+ * 作    者：agent
+ * 功能描述：RedisUtils批量过期测试
+ * 管道由mock的RedisTemplate执行，每个key的EXPIRE记录在commands中，存在的key返回true
+ **************************************************************/
+class RedisUtilsTests {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private RedisOperations<String, String> operations;
+    private RedisNearCache nearCache;
+    private RedisUtils redisUtils;
+
+    /** 存在的key */
+    private final List<String> existing = new ArrayList<>();
+    /** 每次管道提交的key */
+    private final List<List<String>> pipelines = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        redisTemplate = mock(RedisTemplate.class);
+        operations = mock(RedisOperations.class);
+        nearCache = mock(RedisNearCache.class);
+
+        when(operations.expire(anyString(), anyLong(), any(TimeUnit.class))).thenAnswer(call -> {
+            pipelines.get(pipelines.size() - 1).add(call.getArgument(0));
+            return null;
+        });
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            List<String> pipeline = new ArrayList<>();
+            pipelines.add(pipeline);
+            ((SessionCallback<Object>) invocation.getArgument(0)).execute(operations);
+            List<Object> results = new ArrayList<>();
+            for (String key : pipeline) {
+                results.add(existing.contains(key));
+            }
+            return results;
+        });
+
+        redisUtils = new RedisUtils();
+        ReflectionTestUtils.setField(redisUtils, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(redisUtils, "nearCache", nearCache);
+        ReflectionTestUtils.setField(redisUtils, "errorLogger", mock(RedisErrorLogger.class));
+        ReflectionTestUtils.setField(redisUtils, "batchSize", 2);
+    }
+
+    @Test
+    void expireReturnsResultsInKeyOrder() {
+
+        existing.addAll(Arrays.asList("a", "c"));
+
+        List<Boolean> results = redisUtils.expire(Arrays.asList("a", "b", "c"), 60);
+
+        assertEquals(Arrays.asList(true, false, true), results);
+        verify(operations).expire("a", 60, TimeUnit.SECONDS);
+        verify(operations).expire("b", 60, TimeUnit.SECONDS);
+        verify(operations).expire("c", 60, TimeUnit.SECONDS);
+        verify(nearCache).invalidate(Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    void expireSplitsKeysIntoBatches() {
+
+        redisUtils.expire(Arrays.asList("a", "b", "c", "d", "e"), 60);
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"), Collections.singletonList("e")), pipelines);
+    }
+
+    @Test
+    void expireWithZeroTimeDoesNothing() {
+
+        List<Boolean> results = redisUtils.expire(Arrays.asList("a", "b"), 0);
+
+        // EXPIRE 0会删除key，time小于等于0时不能发出任何命令
+        assertEquals(Arrays.asList(false, false), results);
+        verifyNoInteractions(redisTemplate, nearCache);
+    }
+
+    @Test
+    void expireWithNegativeTimeDoesNothing() {
+
+        List<Boolean> results = redisUtils.expire(Collections.singletonList("a"), -1);
+
+        assertEquals(Collections.singletonList(false), results);
+        verifyNoInteractions(redisTemplate, nearCache);
+    }
+
+    @Test
+    void expireWithNoKeysSendsNoCommands() {
+
+        List<Boolean> results = redisUtils.expire(Collections.emptyList(), 60);
+
+        assertEquals(Collections.emptyList(), results);
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void singleExpireIgnoresNonPositiveTime() {
+
+        redisUtils.expire("a", 0);
+        redisUtils.expire("a", 60);
+
+        verify(redisTemplate, times(1)).expire(eq("a"), anyLong(), any(TimeUnit.class));
+        verify(redisTemplate).expire("a", 60, TimeUnit.SECONDS);
+    }
+}
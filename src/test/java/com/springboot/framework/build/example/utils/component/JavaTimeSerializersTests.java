@@ -0,0 +1,144 @@
+package com.springboot.framework.build.example.utils.component;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**************************************************************
+ * 创建日期：2026/10/19 1:45
+ * 作    者：agent
+ * 功能描述：JavaTimeSerializers测试
+ * json.performance开启后的输出与原来的DateTimeFormatter、SimpleDateFormat输出一致
+ **************************************************************/
+class JavaTimeSerializersTests {
+
+    private final ObjectMapper formatterMapper = JsonTestSupport.objectMapper(false);
+    private final ObjectMapper fastMapper = JsonTestSupport.objectMapper(true);
+    private final Random random = new Random(20261018);
+
+    @Test
+    void localDateTimeMatchesFormatter() throws Exception {
+
+        List<LocalDateTime> values = new ArrayList<>();
+        values.add(LocalDateTime.of(2026, 1, 1, 0, 0, 0));
+        values.add(LocalDateTime.of(2026, 12, 31, 23, 59, 59, 999_999_999));
+        values.add(LocalDateTime.of(1, 1, 1, 0, 0));
+        values.add(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        // 回退到DateTimeFormatter的年份
+        values.add(LocalDateTime.of(0, 6, 15, 12, 0));
+        values.add(LocalDateTime.of(-44, 3, 15, 12, 0));
+        values.add(LocalDateTime.of(10000, 1, 1, 0, 0));
+        for (int i = 0; i < 1000; i++) {
+            values.add(LocalDateTime.of(random.nextInt(9999) + 1, random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000)));
+        }
+        assertSameJson(values);
+    }
+
+    @Test
+    void localDateMatchesFormatter() throws Exception {
+
+        List<LocalDate> values = new ArrayList<>();
+        values.add(LocalDate.of(2024, 2, 29));
+        values.add(LocalDate.of(1, 1, 1));
+        values.add(LocalDate.of(0, 1, 1));
+        values.add(LocalDate.of(-1, 12, 31));
+        values.add(LocalDate.of(12345, 1, 1));
+        for (int i = 0; i < 1000; i++) {
+            values.add(LocalDate.ofEpochDay(random.nextInt(3_000_000) - 700_000));
+        }
+        assertSameJson(values);
+    }
+
+    @Test
+    void localTimeMatchesFormatter() throws Exception {
+
+        List<LocalTime> values = new ArrayList<>();
+        values.add(LocalTime.MIDNIGHT);
+        values.add(LocalTime.MAX);
+        values.add(LocalTime.NOON);
+        for (int i = 0; i < 1000; i++) {
+            values.add(LocalTime.ofNanoOfDay((long) (random.nextDouble() * LocalTime.MAX.toNanoOfDay())));
+        }
+        assertSameJson(values);
+    }
+
+    @Test
+    void dateMatchesSimpleDateFormat() throws Exception {
+
+        List<Date> values = new ArrayList<>();
+        values.add(new Date(0));
+        values.add(new Date(-1));
+        values.add(new Date(999));
+        // java.sql.Date.toInstant不支持，不能影响序列化
+        values.add(java.sql.Date.valueOf(LocalDate.of(2026, 10, 18)));
+        values.add(java.sql.Timestamp.valueOf(LocalDateTime.of(2026, 10, 18, 8, 30, 1, 123_456_789)));
+        // 格里高利历启用前后，SimpleDateFormat在此之前按儒略历输出
+        values.add(Date.from(LocalDateTime.of(1582, 10, 15, 0, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        values.add(new Date(Date.from(LocalDateTime.of(1582, 10, 15, 0, 0).atZone(ZoneId.systemDefault()).toInstant()).getTime() - 1));
+        values.add(Date.from(LocalDateTime.of(1500, 6, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        values.add(Date.from(LocalDateTime.of(10000, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        for (int i = 0; i < 1000; i++) {
+            // 1900年至2100年
+            values.add(new Date(-2_208_988_800_000L + (long) (random.nextDouble() * 6_311_390_400_000L)));
+        }
+        assertSameJson(values);
+    }
+
+    @Test
+    void fieldFormatOverridesFastPath() throws Exception {
+
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15);
+        Formatted value = new Formatted(time, Date.from(time.atZone(ZoneId.systemDefault()).toInstant()));
+
+        String json = fastMapper.writeValueAsString(value);
+        assertEquals(formatterMapper.writeValueAsString(value), json);
+        // 有@JsonFormat的字段按字段格式输出，没有的仍是默认格式
+        assertTrue(json.contains("\"formattedTime\":\"2026/10/18 09:30\""), json);
+        assertTrue(json.contains("\"formattedDate\":\"20261018\""), json);
+        assertTrue(json.contains("\"epochDate\":" + value.epochDate.getTime()), json);
+        assertTrue(json.contains("\"plainTime\":\"2026-10-18 09:30:15\""), json);
+    }
+
+    /**
+     * 逐个比较，失败时能看出是哪个值
+     */
+    private void assertSameJson(List<?> values) throws Exception {
+        for (Object value : values) {
+            assertEquals(formatterMapper.writeValueAsString(value), fastMapper.writeValueAsString(value), value::toString);
+        }
+    }
+
+    /**
+     * 字段上有格式设置
+     */
+    public static class Formatted {
+
+        @JsonFormat(pattern = "yyyy/MM/dd HH:mm")
+        public final LocalDateTime formattedTime;
+        @JsonFormat(pattern = "yyyyMMdd")
+        public final LocalDate formattedDate;
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        public final Date epochDate;
+        public final LocalDateTime plainTime;
+
+        Formatted(LocalDateTime time, Date date) {
+            this.formattedTime = time;
+            this.formattedDate = time.toLocalDate();
+            this.epochDate = date;
+            this.plainTime = time;
+        }
+    }
+}
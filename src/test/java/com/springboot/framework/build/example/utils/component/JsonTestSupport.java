@@ -0,0 +1,26 @@
+package com.springboot.framework.build.example.utils.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.framework.build.example.config.JsonConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**************************************************************
+ * 创建日期：2026/10/19 1:40
+ * 作    者：agent
+ * 功能描述：按JsonConfig创建ObjectMapper，与接口使用的配置一致
+ **************************************************************/
+final class JsonTestSupport {
+
+    private JsonTestSupport() {
+    }
+
+    /**
+     * @param performance 是否开启json.performance
+     * @return
+     */
+    static ObjectMapper objectMapper(boolean performance) {
+        JsonConfig jsonConfig = new JsonConfig();
+        ReflectionTestUtils.setField(jsonConfig, "performance", performance);
+        return ReflectionTestUtils.invokeMethod(jsonConfig, "objectMapper");
+    }
+}
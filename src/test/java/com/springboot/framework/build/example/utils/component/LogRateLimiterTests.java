@@ -0,0 +1,37 @@
+package com.springboot.framework.build.example.utils.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**************************************************************
+ * 创建日期：2026/10/19 6:10
+ * 作    者：agent
+ * 功能描述：LogRateLimiter测试
+ **************************************************************/
+class LogRateLimiterTests {
+
+    @Test
+    void suppressesAboveLimitAndReportsInNextSecond() throws InterruptedException {
+
+        LogRateLimiter limiter = new LogRateLimiter();
+        awaitSecondStart();
+
+        assertEquals(0, limiter.acquire(2));
+        assertEquals(0, limiter.acquire(2));
+        assertEquals(-1, limiter.acquire(2));
+        assertEquals(-1, limiter.acquire(2));
+
+        awaitSecondStart();
+        assertEquals(2, limiter.acquire(2));
+        assertEquals(0, limiter.acquire(2));
+        assertEquals(-1, limiter.acquire(2));
+    }
+
+    /**
+     * 等到下一秒开始，保证之后的几次调用在同一秒内
+     */
+    private static void awaitSecondStart() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+    }
+}
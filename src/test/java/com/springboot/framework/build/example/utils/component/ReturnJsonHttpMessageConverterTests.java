@@ -0,0 +1,210 @@
+package com.springboot.framework.build.example.utils.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.framework.build.example.enums.ReturnCode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**************************************************************
+ * 创建日期：2026/10/19 2:20
+ * 作    者：agent
+ * 功能描述：ReturnJsonHttpMessageConverter测试
+ * 输出与同一个ObjectMapper直接序列化ReturnJson的字节完全一致，
+ * 包括预先序列化的响应、前缀，以及逐个元素写入的大集合和Stream；
+ * 逐个元素写入的阈值设为3、每2个元素刷新一次
+ **************************************************************/
+class ReturnJsonHttpMessageConverterTests {
+
+    private static final int THRESHOLD = 3;
+    private static final int FLUSH_SIZE = 2;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void responsesWithoutDataMatchJackson(boolean performance) throws IOException {
+
+        ObjectMapper objectMapper = JsonTestSupport.objectMapper(performance);
+        ReturnJsonHttpMessageConverter converter = new ReturnJsonHttpMessageConverter(objectMapper, THRESHOLD, FLUSH_SIZE);
+
+        List<ReturnJson> values = new ArrayList<>();
+        values.add((ReturnJson) ReturnJson.ok());
+        for (ReturnCode returnCode : ReturnCode.values()) {
+            values.add((ReturnJson) ReturnJson.err(returnCode));
+        }
+        // 不是ReturnCode中的组合
+        values.add((ReturnJson) ReturnJson.err(ReturnCode.PARAM_ERROR.getCode(), "姓名不能为空"));
+        values.add((ReturnJson) ReturnJson.err(7001, "含\"引号\"、\\反斜杠\\和\n换行"));
+        values.add(new ReturnJson(200, null));
+        int predefined = ReturnCode.values().length + 1;
+        for (int i = 0; i < values.size(); i++) {
+            MockHttpOutputMessage message = write(converter, values.get(i));
+            assertSameBytes(objectMapper, values.get(i), message);
+            // 预先序列化的响应带有长度，临时序列化的不带
+            long contentLength = i < predefined ? message.getBodyAsBytes().length : -1;
+            assertEquals(contentLength, message.getHeaders().getContentLength());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void prefixWithDataMatchesJackson(boolean performance) throws IOException {
+
+        ObjectMapper objectMapper = JsonTestSupport.objectMapper(performance);
+        ReturnJsonHttpMessageConverter converter = new ReturnJsonHttpMessageConverter(objectMapper, THRESHOLD, FLUSH_SIZE);
+
+        List<ReturnJson> values = new ArrayList<>();
+        values.add((ReturnJson) ReturnJson.ok(dto(1)));
+        values.add((ReturnJson) ReturnJson.ok("文本"));
+        values.add((ReturnJson) ReturnJson.ok(42));
+        values.add((ReturnJson) ReturnJson.ok(Collections.emptyList()));
+        values.add((ReturnJson) ReturnJson.ok(Arrays.asList(dto(1), dto(2))));
+        values.add((ReturnJson) ReturnJson.ok(Collections.singletonMap("key", dto(3))));
+        values.add((ReturnJson) ReturnJson.err(ReturnCode.PARAM_ERROR.getCode(), ReturnCode.PARAM_ERROR.getMsg(), dto(4)));
+        values.add((ReturnJson) ReturnJson.err(8001, "自定义", new int[]{1, 2, 3}));
+        values.add(new ReturnJson(200, null, dto(5)));
+        for (ReturnJson value : values) {
+            MockHttpOutputMessage message = write(converter, value);
+            assertSameBytes(objectMapper, value, message);
+            // 带数据时长度未知
+            assertEquals(-1, message.getHeaders().getContentLength());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void streamedCollectionMatchesJackson(boolean performance) throws IOException {
+
+        ObjectMapper objectMapper = JsonTestSupport.objectMapper(performance);
+        ReturnJsonHttpMessageConverter converter = new ReturnJsonHttpMessageConverter(objectMapper, THRESHOLD, FLUSH_SIZE);
+
+        List<Object> mixed = new ArrayList<>();
+        mixed.add(dto(1));
+        mixed.add(null);
+        mixed.add(dto(2));
+        mixed.add("文本");
+        mixed.add(3L);
+        mixed.add(Collections.singletonMap("date", LocalDate.of(2026, 10, 18)));
+        mixed.add(dto(4));
+
+        List<Object> values = new ArrayList<>();
+        values.add(IntStream.range(0, 101).mapToObj(ReturnJsonHttpMessageConverterTests::dto).collect(Collectors.toList()));
+        values.add(mixed);
+        values.add(new LinkedHashSet<>(Arrays.asList("a", "b", "c", "d")));
+        // 刚好达到阈值
+        values.add(Arrays.asList(dto(1), dto(2), dto(3)));
+        for (Object data : values) {
+            ReturnJson value = (ReturnJson) ReturnJson.ok(data);
+            assertSameBytes(objectMapper, value, write(converter, value));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void streamDataMatchesJacksonList(boolean performance) throws IOException {
+
+        ObjectMapper objectMapper = JsonTestSupport.objectMapper(performance);
+        ReturnJsonHttpMessageConverter converter = new ReturnJsonHttpMessageConverter(objectMapper, THRESHOLD, FLUSH_SIZE);
+
+        List<Dto> list = IntStream.range(0, 7).mapToObj(ReturnJsonHttpMessageConverterTests::dto).collect(Collectors.toList());
+        MockHttpOutputMessage message = write(converter, (ReturnJson) ReturnJson.ok(list.stream()));
+
+        // Stream逐个元素写入，结果与序列化同样内容的List一致
+        byte[] expected = objectMapper.writeValueAsBytes(ReturnJson.ok(list));
+        assertEquals(new String(expected, StandardCharsets.UTF_8), message.getBodyAsString(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, message.getBodyAsBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void emptyStreamWritesEmptyArray(boolean performance) throws IOException {
+
+        ObjectMapper objectMapper = JsonTestSupport.objectMapper(performance);
+        ReturnJsonHttpMessageConverter converter = new ReturnJsonHttpMessageConverter(objectMapper, THRESHOLD, FLUSH_SIZE);
+
+        MockHttpOutputMessage message = write(converter, (ReturnJson) ReturnJson.ok(Collections.emptyList().stream()));
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(ReturnJson.ok(Collections.emptyList())), message.getBodyAsBytes());
+        assertNull(message.getHeaders().get("Content-Length"));
+    }
+
+    private static MockHttpOutputMessage write(ReturnJsonHttpMessageConverter converter, ReturnJson value) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(value, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    private static void assertSameBytes(ObjectMapper objectMapper, ReturnJson value, MockHttpOutputMessage message) throws IOException {
+        byte[] expected = objectMapper.writeValueAsBytes(value);
+        // 先比较文本，失败时便于查看差异
+        assertEquals(new String(expected, StandardCharsets.UTF_8), message.getBodyAsString(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, message.getBodyAsBytes());
+    }
+
+    private static Dto dto(int i) {
+        Dto dto = new Dto();
+        dto.id = (long) i;
+        dto.name = i % 2 == 0 ? "名称\"" + i + "\"" : "name" + i;
+        dto.amount = BigDecimal.valueOf(i * 1234L, 2);
+        dto.remark = i % 3 == 0 ? null : "备注\n" + i;
+        dto.createTime = LocalDateTime.of(2026, 10, 18, 9, 30, 15).plusMinutes(i);
+        dto.updateTime = new Date(1_700_000_000_000L + i * 1000L);
+        dto.tags = i % 4 == 0 ? null : Arrays.asList("a" + i, "b" + i);
+        return dto;
+    }
+
+    /**
+     * 包含时间、null字段、嵌套集合
+     */
+    public static class Dto {
+
+        private Long id;
+        private String name;
+        private BigDecimal amount;
+        private String remark;
+        private LocalDateTime createTime;
+        private Date updateTime;
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public Date getUpdateTime() {
+            return updateTime;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+}
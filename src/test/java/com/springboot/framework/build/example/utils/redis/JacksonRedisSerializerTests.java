@@ -0,0 +1,103 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import com.springboot.framework.build.example.config.RedisConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**************************************************************
+ * 创建日期：2026/10/19 3:40
+ * 作    者：agent
+ * 功能描述：JacksonRedisSerializer测试
+ * 序列化器与RedisConfig的配置一致：不固定类型时写入类名，固定类型（模板、缓存）时不写入
+ **************************************************************/
+class JacksonRedisSerializerTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile"})
+    void untypedWritesClassName(String format) {
+
+        RedisSerializer<Object> serializer = config(format).redisValueSerializer();
+        byte[] bytes = serializer.serialize(new Item("a", 1));
+
+        assertTrue(contains(bytes, Item.class.getName()));
+        assertEquals(new Item("a", 1), serializer.deserialize(bytes));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile"})
+    void typedOmitsClassName(String format) {
+
+        RedisConfig config = config(format);
+        RedisSerializer<Item> serializer = config.typedValueSerializer(Item.class);
+        byte[] bytes = serializer.serialize(new Item("a", 1));
+
+        assertFalse(contains(bytes, Item.class.getName()));
+        assertTrue(bytes.length < config.redisValueSerializer().serialize(new Item("a", 1)).length);
+        assertEquals(new Item("a", 1), serializer.deserialize(bytes));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile"})
+    void typedCacheEntryRoundTrip(String format) {
+
+        RedisSerializer<Object> serializer = ReflectionTestUtils.invokeMethod(config(format), "typedCacheSerializer", Item.class);
+        byte[] bytes = serializer.serialize(new StampedeProtectedCache.CacheEntry<>(new Item("a", 1), 15, 1_700_000_000_000L));
+
+        assertFalse(contains(bytes, Item.class.getName()));
+        assertFalse(contains(bytes, StampedeProtectedCache.CacheEntry.class.getName()));
+        Object stored = serializer.deserialize(bytes);
+        assertTrue(stored instanceof StampedeProtectedCache.CacheEntry);
+        assertEquals(new Item("a", 1), ReflectionTestUtils.getField(stored, "value"));
+        assertEquals(15L, ReflectionTestUtils.getField(stored, "delta"));
+    }
+
+    private static RedisConfig config(String format) {
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "serializer", format);
+        ReflectionTestUtils.setField(config, "compressThreshold", 0);
+        return config;
+    }
+
+    private static boolean contains(byte[] bytes, String text) {
+        return new String(bytes, StandardCharsets.ISO_8859_1).contains(text);
+    }
+
+    /**
+     * 缓存值
+     */
+    static class Item {
+
+        private String name;
+        private int count;
+
+        Item() {
+        }
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Item)) {
+                return false;
+            }
+            Item item = (Item) o;
+            return count == item.count && name.equals(item.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + count;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**************************************************************
+ * 创建日期：2026/10/18 23:15
+ * 作    者：agent
+ * 功能描述：RedisRateLimiter测试
+ * 令牌桶脚本的语义需要真实redis，redis不可用时跳过；redis异常时放行并计数不需要redis
+ **************************************************************/
+class RedisRateLimiterTests {
+
+    private LettuceConnectionFactory factory;
+
+    @AfterEach
+    void tearDown() {
+        if (factory != null) {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void allowsBurstUpToLimitThenRejects() {
+
+        StringRedisTemplate template = RedisTestSupport.template(factory = RedisTestSupport.connectOrSkip());
+        RedisRateLimiter limiter = limiter(template, errorLogger(new SimpleMeterRegistry()));
+        String key = "test:rate-limit:" + UUID.randomUUID();
+        try {
+            // limit为100时每批租借10个，周期1小时，测试期间补充的令牌不足1个
+            for (int i = 0; i < 100; i++) {
+                assertTrue(limiter.tryAcquire(key, 100, 3600), "第" + (i + 1) + "个请求应通过");
+            }
+            assertFalse(limiter.tryAcquire(key, 100, 3600));
+        } finally {
+            template.delete(key);
+        }
+    }
+
+    @Test
+    void refillsTokensOverTime() throws InterruptedException {
+
+        StringRedisTemplate template = RedisTestSupport.template(factory = RedisTestSupport.connectOrSkip());
+        RedisRateLimiter limiter = limiter(template, errorLogger(new SimpleMeterRegistry()));
+        String key = "test:rate-limit:" + UUID.randomUUID();
+        try {
+            // limit小于20时每次请求都访问redis；每秒补满5个，即每200毫秒1个
+            for (int i = 0; i < 5; i++) {
+                assertTrue(limiter.tryAcquire(key, 5, 1));
+            }
+            assertFalse(limiter.tryAcquire(key, 5, 1));
+            Thread.sleep(300);
+            assertTrue(limiter.tryAcquire(key, 5, 1));
+            assertFalse(limiter.tryAcquire(key, 5, 1));
+        } finally {
+            template.delete(key);
+        }
+    }
+
+    @Test
+    void sharesBucketAcrossNodes() {
+
+        StringRedisTemplate template = RedisTestSupport.template(factory = RedisTestSupport.connectOrSkip());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 两个实例模拟两个节点，令牌桶在redis中共享
+        RedisRateLimiter first = limiter(template, errorLogger(registry));
+        RedisRateLimiter second = limiter(template, errorLogger(registry));
+        String key = "test:rate-limit:" + UUID.randomUUID();
+        try {
+            int passed = 0;
+            for (int i = 0; i < 10; i++) {
+                passed += first.tryAcquire(key, 10, 3600) ? 1 : 0;
+                passed += second.tryAcquire(key, 10, 3600) ? 1 : 0;
+            }
+            assertEquals(10, passed);
+        } finally {
+            template.delete(key);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failsOpenAndCountsWhenRedisUnavailable() {
+
+        RedisTemplate<String, String> template = mock(RedisTemplate.class);
+        // 三个脚本参数：limit、rate、leaseSize，varargs需逐个匹配
+        when(template.execute(any(RedisScript.class), anyList(),
+                ArgumentMatchers.<Object>any(), ArgumentMatchers.<Object>any(), ArgumentMatchers.<Object>any()))
+                .thenThrow(new IllegalStateException("connection refused"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RedisRateLimiter limiter = limiter(template, errorLogger(registry));
+
+        assertTrue(limiter.tryAcquire("test:rate-limit:down", 1, 1));
+        assertTrue(limiter.tryAcquire("test:rate-limit:down", 1, 1));
+        assertEquals(2, registry.get("redis.errors").tag("operation", "rateLimit").counter().count());
+    }
+
+    private static RedisRateLimiter limiter(RedisTemplate<String, String> template, RedisErrorLogger errorLogger) {
+        RedisRateLimiter limiter = new RedisRateLimiter();
+        ReflectionTestUtils.setField(limiter, "maxLeaseSize", 50);
+        ReflectionTestUtils.setField(limiter, "leaseMillis", 200L);
+        ReflectionTestUtils.setField(limiter, "maximumSize", 1000L);
+        ReflectionTestUtils.setField(limiter, "redisTemplate", template);
+        ReflectionTestUtils.setField(limiter, "errorLogger", errorLogger);
+        limiter.init();
+        return limiter;
+    }
+
+    @SuppressWarnings("unchecked")
+    static RedisErrorLogger errorLogger(MeterRegistry registry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+        RedisErrorLogger errorLogger = new RedisErrorLogger();
+        ReflectionTestUtils.setField(errorLogger, "registryProvider", provider);
+        ReflectionTestUtils.setField(errorLogger, "maxLogsPerSecond", 1);
+        return errorLogger;
+    }
+}
@@ -0,0 +1,61 @@
+package com.springboot.framework.build.example.utils.redis;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**************************************************************
+ * 创建日期：2026/10/18 23:10
+ * 作    者：agent
+ * 功能描述：需要真实redis的测试
+ * 连接 redis.test.host:redis.test.port（默认localhost:6379），连不上时跳过测试而不是失败
+ **************************************************************/
+public final class RedisTestSupport {
+
+    private RedisTestSupport() {
+    }
+
+    /**
+     * 连接测试用的redis，不可用时跳过当前测试
+     * @return 已初始化的连接工厂，测试结束后调用destroy
+     */
+    public static LettuceConnectionFactory connectOrSkip() {
+
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.test.host", "localhost"),
+                Integer.getInteger("redis.test.port", 6379));
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration);
+        factory.afterPropertiesSet();
+        // RedisConnection在2.2中不是AutoCloseable
+        RedisConnection connection = null;
+        Exception failure = null;
+        try {
+            connection = factory.getConnection();
+            connection.ping();
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+        if (failure != null) {
+            factory.destroy();
+            Assumptions.assumeTrue(false, "redis不可用，跳过：" + failure.getMessage());
+        }
+        return factory;
+    }
+
+    /**
+     * 字符串模板
+     * @param factory 连接工厂
+     * @return
+     */
+    public static StringRedisTemplate template(LettuceConnectionFactory factory) {
+        StringRedisTemplate template = new StringRedisTemplate(factory);
+        template.afterPropertiesSet();
+        return template;
+    }
+}